@@ -0,0 +1,147 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: The stateless mode. A login at POST /token with HTTP Basic is checked against LDAP once and answered
+ * with a signed, short-lived token. Every other request carries the token as a Bearer header and is authenticated by
+ * checking its signature and expiry locally, without an LDAP round trip and without an HTTP session, so any node that
+ * shares the signing secret can serve any request.
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.configurations;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.bsr.springsecurity.practice.authenticatingldapapplication.security.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+
+@Configuration
+@ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "true")
+public class StatelessTokenConfig {
+
+    // Creates a static logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatelessTokenConfig.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    // Shortest HS256 key accepted, the algorithm requires a key at least as long as its 256 bit hash
+    private static final int MIN_SECRET_BYTES = 32;
+
+    /**
+     * Only POST /token accepts a username and password, it is the one request checked against LDAP. The chain is
+     * ordered before the token chain so the Basic credentials never reach any other endpoint.*/
+    @Bean
+    @Order(1)
+    public SecurityFilterChain tokenRequestSecurityFilterChain(HttpSecurity http) {
+        http
+                .securityMatcher("/token")
+                .authorizeHttpRequests((authorize) -> authorize
+                        .anyRequest().fullyAuthenticated()
+                )
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement((session) -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .csrf((csrf) -> csrf.disable());
+
+        return http.build();
+    }
+
+    /**
+     * Everything else needs a valid token, a Basic Authorization header is not accepted. No session is created and no
+     * CSRF token is needed because nothing is authenticated by a cookie.*/
+    @Bean
+    @Order(2)
+    public SecurityFilterChain statelessSecurityFilterChain(HttpSecurity http,
+                                                            JwtAuthenticationConverter jwtAuthenticationConverter) {
+        http
+                .authorizeHttpRequests((authorize) -> authorize
+                        .anyRequest().fullyAuthenticated()
+                )
+                .oauth2ResourceServer((resourceServer) -> resourceServer
+                        .jwt((jwt) -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter))
+                )
+                .sessionManagement((session) -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .csrf((csrf) -> csrf.disable());
+
+        return http.build();
+    }
+
+    /**
+     * The HMAC key tokens are signed and checked with. Nodes that serve the same users must share the base64 encoded
+     * security.token.secret, without it every start generates a new key and earlier tokens stop being accepted. A
+     * secret shorter than 32 bytes fails startup instead of signing with a weak key.*/
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${security.token.secret:}") String secret) {
+        if (!secret.isBlank()) {
+            byte[] key = Base64.getDecoder().decode(secret);
+            if (key.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("security.token.secret must decode to at least " + MIN_SECRET_BYTES
+                        + " bytes, it has " + key.length);
+            }
+            return new SecretKeySpec(key, HMAC_ALGORITHM);
+        }
+        LOGGER.warn("security.token.secret is not set, tokens are signed with a random key of this instance only");
+        try {
+            return KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        return NimbusJwtDecoder.withSecretKey(tokenSigningKey).macAlgorithm(MacAlgorithm.HS256).build();
+    }
+
+    /**
+     * Reads the authorities back from the roles claim as they were granted at login, without the default SCOPE_
+     * prefix.*/
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(TokenService.ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("");
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
+
+    @Bean
+    public TokenService tokenService(JwtEncoder jwtEncoder, @Value("${security.token.ttl:15m}") Duration ttl) {
+        return new TokenService(jwtEncoder, ttl, Clock.systemUTC());
+    }
+}
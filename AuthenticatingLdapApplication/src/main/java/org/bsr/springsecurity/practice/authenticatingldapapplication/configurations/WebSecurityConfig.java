@@ -1,26 +1,53 @@
 /**
  * Project: Spring Practice
  * Author: Benjamin Soto-Roberts
- * Description:
+ * Description: Secures every request behind a form login that is checked against the embedded LDAP server. Successful
+ * logins and group lookups are cached for a short time so repeated logins do not repeat the LDAP round trips, and the
+ * remaining round trips share a bounded pool of validated LDAP connections.
  **/
 
 
 package org.bsr.springsecurity.practice.authenticatingldapapplication.configurations;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bsr.springsecurity.practice.authenticatingldapapplication.security.CachingAuthenticationProvider;
+import org.bsr.springsecurity.practice.authenticatingldapapplication.security.CachingLdapAuthoritiesPopulator;
+import org.bsr.springsecurity.practice.authenticatingldapapplication.security.PooledLdapContextSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.ldap.core.support.BaseLdapPathContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.validation.DefaultDirContextValidator;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.ldap.DefaultSpringSecurityContextSource;
+import org.springframework.security.ldap.authentication.LdapAuthenticationProvider;
+import org.springframework.security.ldap.authentication.PasswordComparisonAuthenticator;
+import org.springframework.security.ldap.userdetails.DefaultLdapAuthoritiesPopulator;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.context.annotation.Bean;
-import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 @Configuration
 public class WebSecurityConfig {
 
+    // The DN of a user that logs in with the name {0}, shared by the authenticator and the login cache
+    private static final String USER_DN_PATTERN = "uid={0},ou=people";
+
+    /**
+     * The session mode, a form login that keeps the authenticated user in the HTTP session. Replaced by the
+     * StatelessTokenConfig chain when security.stateless.enabled is true.*/
     @Bean
+    @ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "false", matchIfMissing = true)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) {
         http
                 .authorizeHttpRequests((authorize) -> authorize
@@ -31,18 +58,94 @@ public class WebSecurityConfig {
         return http.build();
     }
 
-    @Autowired
-    public void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth
-                .ldapAuthentication()
-                .userDnPatterns("uid={0},ou=people")
-                .groupSearchBase("ou=groups")
-                .contextSource()
-                .url("ldap://localhost:8389/dc=springframework,dc=org")
-                .and()
-                .passwordCompare()
-                .passwordEncoder(new BCryptPasswordEncoder())
-                .passwordAttribute("userPassword");
+    /**
+     * The connections the authenticator and the group search use. Pooled by default, with a bounded number of
+     * connections per pool, idle connections validated and evicted in the background, and a bounded wait when every
+     * connection is in use. Without the pool each operation falls back to the JVM wide, unbounded JNDI pool. Not a
+     * default injection candidate so the ContextSource Boot configures for the embedded server stays the only one.*/
+    @Bean(defaultCandidate = false)
+    public BaseLdapPathContextSource securityLdapContextSource(
+            MeterRegistry meterRegistry,
+            @Value("${ldap.url}") String url,
+            @Value("${ldap.pool.enabled:true}") boolean pooled,
+            @Value("${ldap.pool.min-idle:2}") int minIdle,
+            @Value("${ldap.pool.max-idle:8}") int maxIdle,
+            @Value("${ldap.pool.max-total:16}") int maxTotal,
+            @Value("${ldap.pool.max-wait:2s}") Duration maxWait,
+            @Value("${ldap.pool.test-on-borrow:false}") boolean testOnBorrow,
+            @Value("${ldap.pool.eviction-interval:30s}") Duration evictionInterval,
+            @Value("${ldap.pool.min-evictable-idle-time:5m}") Duration minEvictableIdleTime) {
+        DefaultSpringSecurityContextSource contextSource = new DefaultSpringSecurityContextSource(url);
+        if (!pooled) {
+            return contextSource;
+        }
+        contextSource.setPooled(false);
+        contextSource.afterPropertiesSet();
+
+        PoolConfig poolConfig = new PoolConfig();
+        poolConfig.setMinIdlePerKey(minIdle);
+        poolConfig.setMaxIdlePerKey(maxIdle);
+        poolConfig.setMaxTotalPerKey(maxTotal);
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxWaitMillis(maxWait.toMillis());
+        poolConfig.setTestOnBorrow(testOnBorrow);
+        poolConfig.setTestWhileIdle(true);
+        poolConfig.setTimeBetweenEvictionRunsMillis(evictionInterval.toMillis());
+        poolConfig.setMinEvictableIdleTimeMillis(minEvictableIdleTime.toMillis());
+
+        PooledLdapContextSource pool = new PooledLdapContextSource(poolConfig);
+        pool.setContextSource(contextSource);
+        pool.setDirContextValidator(new DefaultDirContextValidator());
+
+        Gauge.builder("ldap.pool.connections", pool, PooledLdapContextSource::getNumActive)
+                .tag("state", "active").register(meterRegistry);
+        Gauge.builder("ldap.pool.connections", pool, PooledLdapContextSource::getNumIdle)
+                .tag("state", "idle").register(meterRegistry);
+        Gauge.builder("ldap.pool.waiters", pool, PooledLdapContextSource::getNumWaiters).register(meterRegistry);
+        return pool;
+    }
+
+    /**
+     * Runs the background group searches of the authorities cache. Virtual threads because the searches block on the
+     * LDAP server, closed with the context so no refresh outlives it.*/
+    @Bean(destroyMethod = "close", defaultCandidate = false)
+    public ExecutorService ldapAuthoritiesRefreshExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Builds the same LDAP provider the ldapAuthentication() configurer would, a BCrypt password comparison against
+     * uid={0},ou=people with groups from ou=groups, and puts the login and group caches in front of it unless they
+     * are switched off. Spring Security hands a single AuthenticationProvider bean to the global
+     * AuthenticationManager.*/
+    @Bean
+    public AuthenticationProvider ldapAuthenticationProvider(
+            MeterRegistry meterRegistry,
+            @Qualifier("securityLdapContextSource") BaseLdapPathContextSource contextSource,
+            @Qualifier("ldapAuthoritiesRefreshExecutor") ExecutorService refreshExecutor,
+            @Value("${ldap.cache.enabled:true}") boolean cached,
+            @Value("${ldap.authentication.cache.ttl:5m}") Duration loginTtl,
+            @Value("${ldap.authorities.cache.ttl:10m}") Duration authoritiesTtl,
+            @Value("${ldap.authorities.cache.refresh:1m}") Duration authoritiesRefresh,
+            @Value("${ldap.cache.maximum-size:10000}") long maximumSize) {
+        PasswordComparisonAuthenticator authenticator = new PasswordComparisonAuthenticator(contextSource);
+        authenticator.setUserDnPatterns(new String[]{USER_DN_PATTERN});
+        authenticator.setPasswordEncoder(new BCryptPasswordEncoder());
+        authenticator.setPasswordAttributeName("userPassword");
+
+        DefaultLdapAuthoritiesPopulator authoritiesPopulator =
+                new DefaultLdapAuthoritiesPopulator(contextSource, "ou=groups");
+        authoritiesPopulator.setGroupSearchFilter("(uniqueMember={0})");
+        if (!cached) {
+            return new LdapAuthenticationProvider(authenticator, authoritiesPopulator);
+        }
+
+        LdapAuthenticationProvider ldapProvider = new LdapAuthenticationProvider(authenticator,
+                new CachingLdapAuthoritiesPopulator(authoritiesPopulator, authoritiesTtl, authoritiesRefresh,
+                        maximumSize, refreshExecutor, meterRegistry));
+        // The authenticated principal carries the full DN, so the cache resolves usernames below the base as well
+        String fullUserDnPattern = USER_DN_PATTERN + "," + contextSource.getBaseLdapPathAsString();
+        return new CachingAuthenticationProvider(ldapProvider, fullUserDnPattern, loginTtl, maximumSize, meterRegistry);
     }
 
 }
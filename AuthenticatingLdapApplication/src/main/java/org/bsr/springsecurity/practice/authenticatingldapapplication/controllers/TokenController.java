@@ -0,0 +1,33 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: A web controller that hands out a signed token to a user that logged in with HTTP Basic. Only present
+ * in the stateless mode.
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.controllers;
+
+import org.bsr.springsecurity.practice.authenticatingldapapplication.security.TokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@RestController
+@ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "true")
+public class TokenController {
+
+    private final TokenService tokenService;
+
+    public TokenController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+
+    @PostMapping("/token")
+    public String token(Authentication authentication) {
+        return tokenService.issue(authentication);
+    }
+}
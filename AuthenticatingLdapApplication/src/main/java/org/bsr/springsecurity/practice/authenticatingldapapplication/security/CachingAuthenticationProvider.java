@@ -0,0 +1,153 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: An AuthenticationProvider that remembers successful LDAP logins for a bounded time so repeated logins
+ * skip the LDAP round trip and the BCrypt comparison. Logins are kept per user DN, so case variants of a username that
+ * name the same directory entry share one entry. Only a salted HMAC of the password is kept, never the password.
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.ldap.support.LdapEncoder;
+import org.springframework.ldap.support.LdapUtils;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.ldap.userdetails.LdapUserDetails;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.naming.ldap.LdapName;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    // A successful login and the salted hash of the password it was made with
+    private record CachedLogin(byte[] credentialHash, Authentication result) {
+    }
+
+    private final AuthenticationProvider delegate;
+    private final String userDnPattern;
+    private final Cache<LdapName, CachedLogin> logins;
+    private final SecretKey credentialKey;
+    private final Counter cachedAuthentications;
+    private final Counter directoryAuthentications;
+
+
+    /**
+     * Wraps the LDAP provider. Logins are kept for the given ttl under the DN the directory authenticated, a login is
+     * looked up under the DN its username maps to through the authenticator's DN pattern below the base DN. LdapName
+     * compares DNs case-insensitively, so one entry exists per directory user. The HMAC key is generated per instance
+     * and never leaves memory, so the cached hashes are useless outside this process.*/
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, String userDnPattern, Duration ttl,
+                                         long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.userDnPattern = userDnPattern;
+        this.logins = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        this.credentialKey = newCredentialKey();
+        this.cachedAuthentications = Counter.builder("ldap.authentications")
+                .description("Logins answered without contacting the LDAP server")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        this.directoryAuthentications = Counter.builder("ldap.authentications")
+                .description("Logins checked against the LDAP server")
+                .tag("source", "directory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers from the cache when the user DN logged in successfully within the ttl with the same password. Any other
+     * attempt, including every wrong password, goes to the LDAP server and a success replaces the cached login. Failed
+     * attempts are never cached, and neither are logins the directory bound to another DN than the username maps to,
+     * since the next lookup would never find them.*/
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        LdapName userDn = userDn(authentication.getName());
+        byte[] credentialHash = hash(userDn, credentials.toString());
+        CachedLogin cached = logins.getIfPresent(userDn);
+        if (cached != null && MessageDigest.isEqual(cached.credentialHash(), credentialHash)) {
+            cachedAuthentications.increment();
+            return copyOf(cached.result(), authentication);
+        }
+
+        directoryAuthentications.increment();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()
+                && result.getPrincipal() instanceof LdapUserDetails user
+                && userDn.equals(LdapUtils.newLdapName(user.getDn()))) {
+            logins.put(userDn, new CachedLogin(credentialHash, result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    // A new token per login so the details of one request never show up in another. The password was just checked, so
+    // factor authorities are issued again instead of keeping the time of the cached login
+    private static Authentication copyOf(Authentication result, Authentication request) {
+        List<GrantedAuthority> authorities = result.getAuthorities().stream()
+                .map(authority -> authority instanceof FactorGrantedAuthority factor
+                        ? FactorGrantedAuthority.fromAuthority(factor.getAuthority())
+                        : authority)
+                .toList();
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+                result.getPrincipal(), null, authorities);
+        token.setDetails(request.getDetails());
+        return token;
+    }
+
+    // The DN the username selects, escaped the way the authenticator escapes it
+    private LdapName userDn(String username) {
+        return LdapUtils.newLdapName(MessageFormat.format(userDnPattern, LdapEncoder.nameEncode(username)));
+    }
+
+    // The user DN salts the hash so equal passwords of different users do not produce equal hashes. Lower cased like
+    // the LdapName comparison, so every case variant of the DN gives the same hash
+    private byte[] hash(LdapName userDn, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(credentialKey);
+            mac.update(userDn.toString().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static SecretKey newCredentialKey() {
+        try {
+            return KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: An LdapAuthoritiesPopulator that keeps the group authorities of each user DN for a bounded time, so a
+ * login that has to go to the LDAP server still skips the search under ou=groups when the groups are known. Known
+ * groups are searched again in the background once they are older than the refresh interval, so a login only waits
+ * for the group search the first time a user logs in.
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.ldap.userdetails.DefaultLdapAuthoritiesPopulator;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+
+public class CachingLdapAuthoritiesPopulator implements LdapAuthoritiesPopulator {
+
+    // The full DN of a user and the name they logged in with, the two inputs of a group search
+    private record GroupLookup(String userDn, String username) {
+    }
+
+    private final LoadingCache<GroupLookup, List<GrantedAuthority>> authorities;
+
+
+    /**
+     * Wraps the group search. Background searches run on the given executor, which is owned and closed by the caller.
+     * The cache publishes its hit and miss counts as the cache.gets meter of the ldapAuthorities cache, every hit is a
+     * group search a login did not have to wait for.*/
+    public CachingLdapAuthoritiesPopulator(DefaultLdapAuthoritiesPopulator delegate, Duration ttl, Duration refresh,
+                                           long maximumSize, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.authorities = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .maximumSize(maximumSize)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(lookup -> List.copyOf(delegate.getGroupMembershipRoles(lookup.userDn(), lookup.username())));
+        CaffeineCacheMetrics.monitor(meterRegistry, authorities, "ldapAuthorities");
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getGrantedAuthorities(DirContextOperations userData,
+                                                                        String username) {
+        return authorities.get(new GroupLookup(userData.getNameInNamespace(), username));
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: A Spring LDAP connection pool that Spring Security's authenticators accept. The PooledContextSource
+ * already provides both halves of BaseLdapPathContextSource, this class only declares the combined interface.
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import org.springframework.ldap.core.support.BaseLdapPathContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.factory.PooledContextSource;
+
+
+public class PooledLdapContextSource extends PooledContextSource implements BaseLdapPathContextSource {
+
+    public PooledLdapContextSource(PoolConfig poolConfig) {
+        super(poolConfig);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: Issues the signed tokens of the stateless mode. A token names the user, carries the roles they were
+ * granted at login and expires after the configured ttl, so it can be checked without asking LDAP again.
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+
+public class TokenService {
+
+    public static final String ROLES_CLAIM = "roles";
+
+    private final JwtEncoder jwtEncoder;
+    private final Duration ttl;
+    private final Clock clock;
+
+
+    public TokenService(JwtEncoder jwtEncoder, Duration ttl, Clock clock) {
+        this.jwtEncoder = jwtEncoder;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Issues a token for an authenticated user. Factor authorities are left out, they describe how the login was made
+     * and the resource server adds its own for the bearer token.*/
+    public String issue(Authentication authentication) {
+        Instant now = clock.instant();
+        List<String> roles = authentication.getAuthorities().stream()
+                .filter(authority -> !(authority instanceof FactorGrantedAuthority))
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(ROLES_CLAIM, roles)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -2,8 +2,10 @@ package org.bsr.springsecurity.practice.authenticatingldapapplication;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 
 @SpringBootTest
+@DirtiesContext // --> Releases the fixed embedded LDAP port for the next test context
 class AuthenticatingLdapApplicationTests {
 
     @Test
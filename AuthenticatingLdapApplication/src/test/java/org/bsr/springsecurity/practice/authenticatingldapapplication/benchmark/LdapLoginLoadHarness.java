@@ -0,0 +1,142 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: Boots the application twice against the embedded UnboundID server, first on the JNDI connection pool
+ * and then on the bounded LDAP connection pool, with the login and group caches switched off so every login reaches
+ * the directory. Drives each with the same number of concurrent logins and prints the logins per second and the p50
+ * and p99 latency. The load users get a low BCrypt cost so the LDAP round trips, not the hashing, dominate.
+ * Run with: ./mvnw -Pload-test test-compile exec:exec [-Dload.concurrency=16 -Dload.logins=20000]
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.benchmark;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import org.bsr.springsecurity.practice.authenticatingldapapplication.AuthenticatingLdapApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public final class LdapLoginLoadHarness {
+
+    private static final String BASE_DN = "dc=springframework,dc=org";
+    private static final String PASSWORD = "loadpassword";
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int LOGINS = Integer.getInteger("load.logins", 20_000);
+    private static final int WARMUP_LOGINS = Integer.getInteger("load.warmup-logins", 2_000);
+    private static final int USERS = Integer.getInteger("load.users", 100);
+
+    private LdapLoginLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("concurrency=%d logins=%d users=%d%n", CONCURRENCY, LOGINS, USERS);
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "pool", "logins/s", "p50 ms", "p99 ms", "errors");
+        run("jndi", false);
+        run("pooled", true);
+    }
+
+    /**
+     * Boots the application with the given pool setting, adds the load users, warms it up and prints the results of
+     * one measured load run.
+     * */
+    private static void run(String mode, boolean pooled) throws Exception {
+        // Passed as arguments because they override application.properties, default properties do not
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthenticatingLdapApplication.class)
+                .run("--server.port=0",
+                        "--spring.ldap.embedded.port=" + freePort(),
+                        "--logging.level.root=WARN",
+                        "--ldap.pool.enabled=" + pooled,
+                        "--ldap.pool.max-total=" + CONCURRENCY,
+                        "--ldap.pool.max-idle=" + CONCURRENCY,
+                        // Every login searches the user and the groups
+                        "--ldap.cache.enabled=false")) {
+
+            addLoadUsers(context.getBean(InMemoryDirectoryServer.class));
+            AuthenticationProvider provider = context.getBean(AuthenticationProvider.class);
+            load(provider, WARMUP_LOGINS);
+            LoadResult result = load(provider, LOGINS);
+            System.out.printf(Locale.ROOT, "%-10s %12.0f %10.2f %10.2f %8d%n", mode, result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.errors());
+        }
+    }
+
+    /**
+     * Adds USERS people with a cost 4 BCrypt password and one group that lists all of them.
+     * */
+    private static void addLoadUsers(InMemoryDirectoryServer directoryServer) throws Exception {
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        List<String> group = new ArrayList<>(List.of("dn: cn=loadtesters,ou=groups," + BASE_DN,
+                "objectClass: top", "objectClass: groupOfUniqueNames", "cn: loadtesters"));
+        for (int i = 0; i < USERS; i++) {
+            String dn = "uid=load" + i + ",ou=people," + BASE_DN;
+            directoryServer.add("dn: " + dn, "objectClass: top", "objectClass: person",
+                    "objectClass: organizationalPerson", "objectClass: inetOrgPerson", "uid: load" + i,
+                    "cn: Load " + i, "sn: Load", "userPassword: " + passwordHash);
+            group.add("uniqueMember: " + dn);
+        }
+        directoryServer.add(group.toArray(String[]::new));
+    }
+
+    /**
+     * Runs logins with CONCURRENCY threads, cycling through the load users, and records the latency of each.
+     * */
+    private static LoadResult load(AuthenticationProvider provider, int logins) {
+        long[] latencies = new long[logins];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int t = 0; t < CONCURRENCY; t++) {
+                executor.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < logins; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(
+                                    "load" + (i % USERS), PASSWORD));
+                        } catch (RuntimeException ex) {
+                            errors.incrementAndGet();
+                        } finally {
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadResult(latencies, elapsed, errors.get());
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record LoadResult(long[] sortedLatencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
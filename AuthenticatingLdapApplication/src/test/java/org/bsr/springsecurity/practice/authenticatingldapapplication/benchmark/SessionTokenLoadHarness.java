@@ -0,0 +1,169 @@
+/**
+ * Project: Spring Practice
+ * Author: Benjamin Soto-Roberts
+ * Description: Boots the application twice on a random port, first in the session mode and then in the stateless
+ * mode, logs in once in each and drives the same number of concurrent authenticated requests against the home page.
+ * The session mode sends the session cookie of a form login, the stateless mode the Bearer token from POST /token.
+ * Prints the requests per second and the p50 and p99 latency of both modes.
+ * Run with: ./mvnw -Pload-test test-compile exec:exec -Dload.harness=SessionTokenLoadHarness
+ * [-Dload.concurrency=16 -Dload.requests=20000]
+ **/
+
+
+package org.bsr.springsecurity.practice.authenticatingldapapplication.benchmark;
+
+import org.bsr.springsecurity.practice.authenticatingldapapplication.AuthenticatingLdapApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+public final class SessionTokenLoadHarness {
+
+    private static final String USERNAME = "ben";
+    private static final String PASSWORD = "benspassword";
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\" type=\"hidden\" value=\"([^\"]+)\"");
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmup-requests", 2_000);
+
+    private SessionTokenLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("concurrency=%d requests=%d%n", CONCURRENCY, REQUESTS);
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        run("session", false);
+        run("stateless", true);
+    }
+
+    /**
+     * Boots the application in the given mode, logs in, warms it up and prints the results of one measured load run.
+     * */
+    private static void run(String mode, boolean stateless) throws Exception {
+        // Passed as arguments because they override application.properties, default properties do not
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthenticatingLdapApplication.class)
+                .run("--server.port=0",
+                        "--spring.ldap.embedded.port=" + freePort(),
+                        "--logging.level.root=WARN",
+                        "--server.tomcat.max-keep-alive-requests=-1",
+                        "--security.stateless.enabled=" + stateless);
+             HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build()) {
+
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            HttpRequest request = stateless
+                    ? HttpRequest.newBuilder(base.resolve("/"))
+                            .header("Authorization", "Bearer " + token(client, base)).GET().build()
+                    : HttpRequest.newBuilder(base.resolve("/")).GET().build();
+            if (!stateless) {
+                formLogin(client, base);
+            }
+
+            load(client, request, WARMUP_REQUESTS);
+            LoadResult result = load(client, request, REQUESTS);
+            System.out.printf(Locale.ROOT, "%-10s %12.0f %10.2f %10.2f %8d%n", mode, result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.errors());
+        }
+    }
+
+    /**
+     * Logs in through the login page, the client's cookie manager keeps the session cookie for the load run.
+     * */
+    private static void formLogin(HttpClient client, URI base) throws Exception {
+        String loginPage = client.send(HttpRequest.newBuilder(base.resolve("/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF_TOKEN.matcher(loginPage);
+        if (!csrf.find()) {
+            throw new IllegalStateException("No CSRF token on the login page");
+        }
+        String form = "username=" + USERNAME + "&password=" + PASSWORD + "&_csrf="
+                + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(base.resolve("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 302 || response.headers().firstValue("Location").orElse("").contains("error")) {
+            throw new IllegalStateException("Form login failed with " + response.statusCode());
+        }
+    }
+
+    private static String token(HttpClient client, URI base) throws Exception {
+        String credentials = Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/token"))
+                .header("Authorization", "Basic " + credentials)
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Token request failed with " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Sends the request with CONCURRENCY threads and records the latency of each.
+     * */
+    private static LoadResult load(HttpClient client, HttpRequest request, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int t = 0; t < CONCURRENCY; t++) {
+                executor.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request,
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        } finally {
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadResult(latencies, elapsed, errors.get());
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record LoadResult(long[] sortedLatencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.ldap.core.support.BaseLdapPathContextSource;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext // --> Releases the fixed embedded LDAP port for the next test context
+class LdapConnectionPoolTests {
+
+    private static final int LOGINS = 24;
+    private static final int CONCURRENCY = 8;
+
+    @Autowired
+    private AuthenticationProvider authenticationProvider;
+
+    @Autowired
+    @Qualifier("securityLdapContextSource")
+    private BaseLdapPathContextSource contextSource;
+
+    @Test
+    void reusesBoundedConnections_whenLoginsRunConcurrently() {
+        PooledLdapContextSource pool = (PooledLdapContextSource) contextSource;
+        AtomicInteger rejected = new AtomicInteger();
+
+        // Wrong passwords are never cached, so every login goes to the directory
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int i = 0; i < LOGINS; i++) {
+                executor.execute(() -> {
+                    try {
+                        authenticationProvider.authenticate(
+                                UsernamePasswordAuthenticationToken.unauthenticated("ben", "wrongpassword"));
+                    } catch (BadCredentialsException e) {
+                        rejected.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertThat(rejected).hasValue(LOGINS);
+        assertThat(pool.getNumActive()).isZero();
+        assertThat(pool.getNumIdle()).isBetween(1, pool.getPoolConfig().getMaxIdlePerKey());
+    }
+}
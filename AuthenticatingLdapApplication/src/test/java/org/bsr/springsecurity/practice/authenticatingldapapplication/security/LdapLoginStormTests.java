@@ -0,0 +1,84 @@
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+
+@SpringBootTest
+@DirtiesContext // --> Releases the fixed embedded LDAP port for the next test context
+@AutoConfigureMockMvc
+class LdapLoginStormTests {
+
+    private static final int LOGINS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void answersLoginStormWithAtMostOneLdapRoundTrip() throws Exception {
+        double cachedBefore = authentications("cache");
+        double directoryBefore = authentications("directory");
+        double groupSearchesBefore = groupSearches();
+
+        for (int i = 0; i < LOGINS; i++) {
+            mockMvc.perform(formLogin().user("ben").password("benspassword"))
+                    .andExpect(authenticated().withUsername("ben").withAuthentication(authentication ->
+                            assertThat(AuthorityUtils.authorityListToSet(authentication.getAuthorities()))
+                                    .contains("ROLE_DEVELOPERS", "ROLE_MANAGERS", "FACTOR_PASSWORD")));
+        }
+
+        double directory = authentications("directory") - directoryBefore;
+        assertThat(directory).isLessThanOrEqualTo(1);
+        assertThat(authentications("cache") - cachedBefore).isEqualTo(LOGINS - directory);
+        assertThat(groupSearches() - groupSearchesBefore).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void checksWrongPasswordAgainstLdap_whenUserIsCached() throws Exception {
+        mockMvc.perform(formLogin().user("ben").password("benspassword"))
+                .andExpect(authenticated());
+        double directoryBefore = authentications("directory");
+
+        mockMvc.perform(formLogin().user("ben").password("wrongpassword"))
+                .andExpect(unauthenticated());
+
+        assertThat(authentications("directory") - directoryBefore).isEqualTo(1);
+        mockMvc.perform(formLogin().user("ben").password("benspassword"))
+                .andExpect(authenticated());
+        assertThat(authentications("directory") - directoryBefore).isEqualTo(1);
+    }
+
+    @Test
+    void sharesCachedLogin_whenUsernameDiffersOnlyInCase() throws Exception {
+        mockMvc.perform(formLogin().user("ben").password("benspassword"))
+                .andExpect(authenticated());
+        double directoryBefore = authentications("directory");
+
+        mockMvc.perform(formLogin().user("BEN").password("benspassword"))
+                .andExpect(authenticated());
+
+        assertThat(authentications("directory") - directoryBefore).isZero();
+    }
+
+    private double authentications(String source) {
+        return meterRegistry.get("ldap.authentications").tag("source", source).counter().count();
+    }
+
+    private double groupSearches() {
+        return meterRegistry.get("cache.gets").tag("cache", "ldapAuthorities").tag("result", "miss")
+                .functionCounter().count();
+    }
+}
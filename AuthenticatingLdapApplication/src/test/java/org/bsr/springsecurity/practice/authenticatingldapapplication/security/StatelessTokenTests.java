@@ -0,0 +1,97 @@
+package org.bsr.springsecurity.practice.authenticatingldapapplication.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bsr.springsecurity.practice.authenticatingldapapplication.configurations.StatelessTokenConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "security.stateless.enabled=true")
+@AutoConfigureMockMvc
+@DirtiesContext // --> Releases the fixed embedded LDAP port for the next test context
+class StatelessTokenTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void authenticatesWithTokenWithoutLdapOrSession() throws Exception {
+        String token = issueToken();
+        double ldapLoginsBefore = ldapLogins();
+
+        for (int i = 0; i < 10; i++) {
+            MvcResult result = mockMvc.perform(get("/").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("<h1>Welcome to the home page!</h1>"))
+                    .andReturn();
+            assertThat(result.getRequest().getSession(false)).isNull();
+        }
+
+        assertThat(ldapLogins()).isEqualTo(ldapLoginsBefore);
+    }
+
+    @Test
+    void rejectsMissingAndTamperedTokens() throws Exception {
+        String token = issueToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/").header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rejectsBasicCredentials_whenEndpointIsNotTokenRequest() throws Exception {
+        double ldapLoginsBefore = ldapLogins();
+
+        mockMvc.perform(get("/").with(httpBasic("ben", "benspassword")))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(ldapLogins()).isEqualTo(ldapLoginsBefore);
+    }
+
+    @Test
+    void rejectsSigningSecret_whenShorterThan32Bytes() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[31]);
+
+        assertThatThrownBy(() -> new StatelessTokenConfig().tokenSigningKey(shortSecret))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(new StatelessTokenConfig().tokenSigningKey(Base64.getEncoder().encodeToString(new byte[32])))
+                .isNotNull();
+    }
+
+    @Test
+    void rejectsTokenRequest_whenPasswordIsWrong() throws Exception {
+        mockMvc.perform(post("/token").with(httpBasic("ben", "wrongpassword")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String issueToken() throws Exception {
+        return mockMvc.perform(post("/token").with(httpBasic("ben", "benspassword")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private double ldapLogins() {
+        return meterRegistry.get("ldap.authentications").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+}
@@ -1,24 +1,39 @@
 /***********************************************************************************************************************
  * Project: Core Spring Boot Foundations
- * Description: A basic implementation of a logging aspect to manage logging concerns across the application.
+ * Description: An aspect that measures every repository and service call. Records a Micrometer timer (latency
+ *              histogram and call count) per method and outcome, and only logs the arguments of calls that are slower
+ *              than a configurable threshold or that are picked by sampling at DEBUG level, so the hot path does no
+ *              string building or log I/O for ordinary calls. Arguments are summarized by type and size, their values
+ *              are never rendered, so a large batch cannot flood the log and request data cannot leak into it.
  * Author: Benjamin Soto-Roberts
  * Created: 02/19/26
  * */
 
 package org.bsr.springboot.foundations.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
-import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 // Marks this class as an AspectJ aspect and a Spring-managed component
 @Aspect
@@ -28,6 +43,25 @@ public class LoggingAspect {
     // Logger instance scoped to this aspect class
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    static final String TIMER_NAME = "foundations.method.duration";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowCallThresholdNanos;
+    private final int argumentSampleRate;
+
+    // Timers are built once per method and reused, the registry lookup is not repeated on every call
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    /*The MeterRegistry and the logging settings are injected into the constructor. SpringBoot automatically injects
+     dependencies into a class with a single constructor*/
+    public LoggingAspect(MeterRegistry meterRegistry,
+                         @Value("${foundations.aspect.slow-call-threshold:200ms}") Duration slowCallThreshold,
+                         @Value("${foundations.aspect.argument-sample-rate:100}") int argumentSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+        this.argumentSampleRate = argumentSampleRate;
+    }
+
     // Pointcut targeting all methods in any class ending with Repository under the persistence.repository package
     @Pointcut("execution(* org.bsr.springboot.foundations.persistence.repository..*Repository.*(..))")
     void repositoryPointcut() {}
@@ -46,27 +80,91 @@ public class LoggingAspect {
     }
 
     /**
-     * Advice that runs before any method matched by the repository or service pointcuts. Logs the class name, method
-     * name, and incoming arguments before execution.
+     * Advice that runs around any method matched by the repository or service pointcuts. Records the elapsed time in
+     * the success or error timer of the method. Arguments are only summarized when the call was slower than the
+     * threshold (WARN) or, with DEBUG enabled, for one in argumentSampleRate calls.
+     */
+    @Around(value = "repositoryPointcut() || servicePointcut()")
+    Object timeInvocation(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            MethodTimers methodTimers = timersFor(joinPoint);
+            (failed ? methodTimers.error() : methodTimers.success()).record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (elapsed >= slowCallThresholdNanos) {
+                logger.warn("[SLOW] Class: {} | Method: {} | Took: {} ms | Failed: {} | Args: {}",
+                        getClassName(joinPoint),
+                        joinPoint.getSignature().getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        failed,
+                        describeArguments(joinPoint.getArgs()));
+            } else if (argumentSampleRate > 0 && logger.isDebugEnabled()
+                    && ThreadLocalRandom.current().nextInt(argumentSampleRate) == 0) {
+                logger.debug("[SAMPLED] Class: {} | Method: {} | Took: {} us | Failed: {} | Args: {}",
+                        getClassName(joinPoint),
+                        joinPoint.getSignature().getName(),
+                        TimeUnit.NANOSECONDS.toMicros(elapsed),
+                        failed,
+                        describeArguments(joinPoint.getArgs()));
+            }
+        }
+    }
+
+    /**
+     * Helper method that summarizes call arguments without rendering their values. Numbers, booleans and enums are
+     * short and carry no user text so they are written as is, strings as their length, collections, maps and arrays as
+     * their size and any other object as its type, e.g. [Long 42, String(12), ArrayList(120), ProductRestRequestDTO].
+     */
+    static String describeArguments(Object[] args) {
+        StringJoiner description = new StringJoiner(", ", "[", "]");
+        for (Object arg : args) {
+            description.add(switch (arg) {
+                case null -> "null";
+                case Number number -> arg.getClass().getSimpleName() + " " + number;
+                case Boolean bool -> bool.toString();
+                case Enum<?> constant -> constant.getDeclaringClass().getSimpleName() + "." + constant.name();
+                case CharSequence text -> "String(" + text.length() + ")";
+                case Collection<?> collection -> arg.getClass().getSimpleName() + "(" + collection.size() + ")";
+                case Map<?, ?> map -> arg.getClass().getSimpleName() + "(" + map.size() + ")";
+                default -> arg.getClass().isArray()
+                        ? arg.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(arg) + "]"
+                        : arg.getClass().getSimpleName();
+            });
+        }
+        return description.toString();
+    }
+
+    /**
+     * Helper method that returns the cached timers of the invoked method, registering them on the first call.
      */
-    @Before(value = "repositoryPointcut() || servicePointcut()")
-    void logBeforeRepo(JoinPoint joinPoint) {
-        logger.info("[BEFORE] Class: {} | Method: {} | Args: {}",
-                getClassName(joinPoint),
-                joinPoint.getSignature().getName(),
-                Arrays.toString(joinPoint.getArgs()));
+    private MethodTimers timersFor(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers.computeIfAbsent(method, key -> {
+            String className = getClassName(joinPoint);
+            return new MethodTimers(timer(className, key.getName(), "success"),
+                    timer(className, key.getName(), "error"));
+        });
     }
 
     /**
-     * Advice that runs after a method matched by the repository or service pointcuts returns successfully. Logs the
-     * class name, method name, and the returned Product object.
+     * Helper method that registers a timer with a percentile histogram so latency percentiles can be aggregated by
+     * the metrics backend.
      */
-    @AfterReturning(value = "repositoryPointcut() || servicePointcut()", returning = "product")
-    void logAfterRepo(JoinPoint joinPoint, Product product) {
-        logger.info("[AFTER_RETURNING] Class: {} | Method: {} | Returned: {}",
-                getClassName(joinPoint),
-                joinPoint.getSignature().getName(),
-                product);
+    private Timer timer(String className, String methodName, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Latency of repository and service calls")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
+    private record MethodTimers(Timer success, Timer error) {}
 }
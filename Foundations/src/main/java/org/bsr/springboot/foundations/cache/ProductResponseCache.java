@@ -0,0 +1,81 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductResponseCache is a bounded Caffeine (W-TinyLFU) cache of ready-made ProductResponseDTOs
+ *              keyed by product id, read through by ProductService.getProductById. Entries are dropped when their
+ *              product changes, and a read that loaded a product before a change committed never puts it back after
+ *              the drop. Hit, miss and eviction counts are published as the cache.gets and cache.evictions meters of
+ *              the products cache.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.service.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class ProductResponseCache {
+
+    public static final String CACHE_NAME = "products";
+
+    private final Cache<Long, ProductResponseDTO> products;
+    // Counts the dropped entries, a loaded product is only cached when no entry was dropped while it was loading
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /*The MeterRegistry is injected into the constructor. SpringBoot automatically injects dependencies into a class
+     with a single constructor*/
+    public ProductResponseCache(MeterRegistry meterRegistry,
+                                @Value("${foundations.product-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${foundations.product-cache.expire-after-write:10m}")
+                                Duration expireAfterWrite) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached product, or loads it and caches the result. Products that are not found are not cached. The
+     * load is not cached either when any product was dropped since it started, since the loaded row may be older than
+     * the change that dropped it.
+     * */
+    public Optional<ProductResponseDTO> get(Long id, Function<Long, Optional<ProductResponseDTO>> loader) {
+        ProductResponseDTO cached = products.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen = invalidations.get();
+        Optional<ProductResponseDTO> loaded = loader.apply(id);
+        // Runs under the lock of the id, so a drop of the same id is either seen here or removes the put afterwards
+        loaded.ifPresent(product -> products.asMap().compute(id,
+                (key, current) -> invalidations.get() == seen ? product : current));
+        return loaded;
+    }
+
+    /**
+     * Drops the product after the transaction of a create, update or delete commits, so a rolled back write never
+     * drops it and reads after the commit load the new row.
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        products.asMap().compute(event.id(), (key, current) -> {
+            invalidations.incrementAndGet();
+            return null;
+        });
+    }
+}
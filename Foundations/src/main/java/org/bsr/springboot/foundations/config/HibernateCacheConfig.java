@@ -0,0 +1,41 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The HibernateCacheConfig is a configuration class that creates the JCache CacheManager backing the
+ *              Hibernate second-level cache and hands it to Hibernate. JCache returns one shared CacheManager per
+ *              URI and class loader, so every application context in a JVM (e.g. test contexts, each with its own
+ *              database) would otherwise read and write the same regions. The manager is created for this context
+ *              only and closed with its SessionFactory.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Creates a Caffeine JCache CacheManager configured from the given classpath resource. The URI fragment is unique
+     * per call, it makes JCache create a new manager while the resource is still resolved without it.
+     * */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(
+            @Value("${foundations.hibernate.cache.config:hibernate-jcache.conf}") String configResource) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("classpath:" + configResource + "#" + UUID.randomUUID()),
+                        HibernateCacheConfig.class.getClassLoader());
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
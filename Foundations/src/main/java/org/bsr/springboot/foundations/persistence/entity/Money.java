@@ -0,0 +1,78 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The Money record is a fixed-point amount held as a whole number of cents in a long. Arithmetic and
+ *              comparisons are plain long operations, so prices can be derived and checked without allocating a
+ *              BigDecimal per step. The Product entity stores the cents themselves, BigDecimal is only used at the
+ *              API edges and is rounded to 2 decimal places once when a client request is read.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.persistence.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+    private static final int SCALE = 2;
+
+    /**
+     * Creates an amount from a whole number of cents.
+     * */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a decimal, rounded to 2 decimal places with the given rounding mode. Throws
+     * ArithmeticException if the rounded amount does not fit in a long or if the mode is UNNECESSARY and the amount
+     * has more than 2 decimal places.
+     * */
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        return ofCents(amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Returns this amount minus the other. Throws ArithmeticException on overflow.
+     * */
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public boolean isLessThan(Money other) {
+        return cents < other.cents;
+    }
+
+    /**
+     * Returns the amount as a BigDecimal with a scale of 2.
+     * */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Returns the amount with exactly 2 decimal places, formatted like BigDecimal.toPlainString at scale 2, e.g. 19.99,
+     * 0.05 or -1.50.
+     * */
+    @Override
+    public String toString() {
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        StringBuilder builder = new StringBuilder(24);
+        if (cents < 0) {
+            builder.append('-');
+        }
+        builder.append(units).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+}
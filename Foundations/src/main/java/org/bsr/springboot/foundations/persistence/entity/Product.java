@@ -1,11 +1,15 @@
 /***********************************************************************************************************************
  * Project: Core Spring Boot Foundations - Phase 1
  * Description: The Product class is an entity that maps to a table in a database. The Product entity has an id that is
- *              auto generated and is the PK, a product name that has column constraints enforcing uniqueness, non-
- *              nullability, and a max length of 255 characters, a product description that has a column constraint of
- *              a maximum of 1000 characters and by default can contain null values, and a retail and vendor price both
- *              with column constraints of a min decimal value or 0.00 and having a precision of 7 and scale of 2 for
- *              monetary values.
+ *              generated from a pooled sequence and is the PK, a product name that has column constraints enforcing
+ *              uniqueness, non-nullability, and a max length of 255 characters, a product description that has a
+ *              column constraint of a maximum of 1000 characters and by default can contain null values, and a retail
+ *              and vendor price both stored as a whole number of cents in a BIGINT column, so loading a product reads
+ *              two longs and allocates nothing for its prices. The Money accessors are views over the cents, the
+ *              BigDecimal accessors round once on the way in and build the scale 2 amount on the way out. A version
+ *              that Hibernate increments on every update and the time of the last write back the HTTP ETag and
+ *              Last-Modified headers. Products are kept in the read-write second-level cache region, which Hibernate
+ *              updates on every write.
  * Author: Benjamin Soto-Roberts
  * Created: 01/02/26
  * */
@@ -13,15 +17,23 @@
 package org.bsr.springboot.foundations.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 public class Product {
 
+    // Pooled sequence, one round-trip reserves 50 ids so batched inserts do not fetch ids one at a time
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 255)
@@ -30,33 +42,43 @@ public class Product {
     @Column(length = 1000)
     private String productDesc;
 
-    @Column(precision = 7, scale = 2, nullable = false)
-    private BigDecimal retailPrice;
+    @Column(name = "retail_price_cents", nullable = false)
+    private long retailCents;
 
-    @Column(precision = 7, scale = 2, nullable = false)
-    private BigDecimal vendorPrice;
+    @Column(name = "vendor_price_cents", nullable = false)
+    private long vendorCents;
+
+    // Incremented by Hibernate on every update, starts at 0 on insert
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Set by Hibernate on insert and on every update
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant lastModified;
 
     public Product() {}
 
     public Product(String productName, String productDesc, BigDecimal retailPrice, BigDecimal vendorPrice) {
         this.productName = productName;
         this.productDesc = productDesc;
-        this.retailPrice = normalizePrice(retailPrice);
-        this.vendorPrice = normalizePrice(vendorPrice);
+        this.retailCents = normalizePrice(retailPrice);
+        this.vendorCents = normalizePrice(vendorPrice);
     }
 
     public Product(String productName, String productDesc, BigDecimal retailPrice) {
         this.productName = productName;
         this.productDesc = productDesc;
-        this.retailPrice = normalizePrice(retailPrice);
+        this.retailCents = normalizePrice(retailPrice);
     }
 
     /**
      * Helper method to prevent floating‑point style precision errors and enforce a predictable rounding rule that
      * ensures consistent format and safe rounding.
      * */
-    private BigDecimal normalizePrice(BigDecimal price) {
-        return price.setScale(2, RoundingMode.HALF_UP);
+    private long normalizePrice(BigDecimal price) {
+        return Money.of(price, RoundingMode.HALF_UP).cents();
     }
 
     public Long getId() {
@@ -80,19 +102,43 @@ public class Product {
     }
 
     public BigDecimal getRetailPrice() {
-        return retailPrice;
+        return BigDecimal.valueOf(retailCents, 2);
     }
 
     public void setRetailPrice(BigDecimal retailPrice) {
-        this.retailPrice = normalizePrice(retailPrice);
+        this.retailCents = normalizePrice(retailPrice);
+    }
+
+    public Money getRetailMoney() {
+        return Money.ofCents(retailCents);
+    }
+
+    public void setRetailMoney(Money retailPrice) {
+        this.retailCents = retailPrice.cents();
     }
 
     public BigDecimal getVendorPrice() {
-        return vendorPrice;
+        return BigDecimal.valueOf(vendorCents, 2);
     }
 
     public void setVendorPrice(BigDecimal vendorPrice) {
-        this.vendorPrice = normalizePrice(vendorPrice);
+        this.vendorCents = normalizePrice(vendorPrice);
+    }
+
+    public Money getVendorMoney() {
+        return Money.ofCents(vendorCents);
+    }
+
+    public void setVendorMoney(Money vendorPrice) {
+        this.vendorCents = vendorPrice.cents();
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
     }
 
     @Override
@@ -0,0 +1,21 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductDeleteRepository is a repository fragment of the ProductRepository that deletes products by
+ *              id without loading them first. Implemented by the ProductDeleteRepositoryImpl.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/18/26
+ * */
+
+package org.bsr.springboot.foundations.persistence.repository;
+
+import java.util.List;
+
+public interface ProductDeleteRepository {
+
+    /**
+     * Deletes the products with the given ids, one DELETE ... WHERE id = ? per id sent as a single JDBC batch. Returns
+     * the number of rows each id deleted, in the order of the ids, 0 for a product that does not exist. The deleted
+     * products are evicted from the second-level cache.
+     * */
+    int[] deleteRowsById(List<Long> ids);
+}
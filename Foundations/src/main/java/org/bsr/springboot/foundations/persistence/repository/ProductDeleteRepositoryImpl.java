@@ -0,0 +1,77 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductDeleteRepositoryImpl sends the deletes of the ProductDeleteRepository as plain JDBC on the
+ *              connection of the current transaction. Hibernate treats a JPQL or native bulk delete as a change to the
+ *              whole table and evicts the entire product region of the second-level cache, so the statements are kept
+ *              out of Hibernate and only the deleted products are evicted. They are evicted right away and again
+ *              after commit, a reader that loaded a product before the commit cannot leave it in the cache.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/18/26
+ * */
+
+package org.bsr.springboot.foundations.persistence.repository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductDeleteRepositoryImpl implements ProductDeleteRepository {
+
+    private static final String DELETE_BY_ID = "delete from product where id = ?";
+
+    private final EntityManager entityManager;
+
+    ProductDeleteRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int[] deleteRowsById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new int[0];
+        }
+        int[] deleted = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_BY_ID)) {
+                for (Long id : ids) {
+                    statement.setLong(1, id);
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+
+        List<Long> evicted = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (deleted[i] > 0) {
+                evicted.add(ids.get(i));
+            }
+        }
+        evict(evicted);
+        return deleted;
+    }
+
+    // Evicts now so the rest of the transaction reads past the cache, and after commit to drop a copy that a
+    // concurrent reader put back before the delete was visible
+    private void evict(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Product.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(id -> cache.evict(Product.class, id));
+                }
+            });
+        }
+    }
+}
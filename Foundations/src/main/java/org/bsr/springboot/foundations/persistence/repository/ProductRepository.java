@@ -2,23 +2,56 @@
  * Project: Core Spring Boot Foundations - Phase 1
  * Description: The Product Repository interface defines the query methods to be used on the product entity using
  *              JpaRepository. Adds an abstract method to return products containing a search term within the product
- *              name field.
+ *              name field, a keyset (id based) page query and a streaming query for reading the whole table in
+ *              constant memory. Whole table reads skip the second-level cache so they do not evict the products
+ *              that are read by id. Deletes by id come from the ProductDeleteRepository fragment.
  * Author: Benjamin Soto-Roberts
  * Created: 01/02/26
  * */
 
 package org.bsr.springboot.foundations.persistence.repository;
 
+import jakarta.persistence.QueryHint;
 import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductDeleteRepository {
+
+    /**
+     * Selects every product. Redeclared to read the second-level cache without putting the rows into it, a full table
+     * read would otherwise push the frequently read products out of the bounded region.
+     * */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Product> findAll();
 
     /**
      * An abstract method to find products containing a search text that represents text that can be found in the
-     * product name. The method returns a List of Products
+     * product name. The method returns a List of Products. Only used until the ProductSearchIndex is built, the
+     * result is not kept in the query cache since the index answers every search after startup.
      * */
     List<Product> findAllByProductNameContainingIgnoreCase(String productName);
+
+    /**
+     * Keyset pagination query. Returns at most limit products with an id greater than the given id ordered by id. The
+     * primary key index is used to seek straight to the first row of the page instead of counting past an offset.
+     * */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every product ordered by id. The fetch size hint lets the JDBC driver pull rows in batches instead of
+     * buffering the whole result set. Like findAll the rows are not put into the second-level cache. Must be consumed
+     * inside a transaction and closed by the caller.
+     * */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "250"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    Stream<Product> streamAllByOrderByIdAsc();
 }
@@ -1,7 +1,10 @@
 /***********************************************************************************************************************
  * Project: Core Spring Boot Foundations - Phase 1
  * Description: The ProductRestController is a REST api that exposes a REST endpoint for running CRUD operations on
- *              Product entities. Returns JSON responses with appropriate HTTP status codes.
+ *              Product entities. Returns JSON responses with appropriate HTTP status codes, or CBOR when the client
+ *              sends Accept: application/cbor. Product reads carry strong ETags, one per representation, so clients
+ *              can poll with If-None-Match and receive 304 Not Modified without a body. Product lists are written
+ *              from cached per-product JSON fragments by the ProductListJsonConverter.
  * Author: Benjamin Soto-Roberts
  * Created: 01/03/26
  * */
@@ -9,59 +12,124 @@
 package org.bsr.springboot.foundations.presentation.controller;
 
 import jakarta.validation.Valid;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchRequestDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchResultDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchUpdateDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductPageDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.presentation.serializer.ProductListJsonConverter;
 import org.bsr.springboot.foundations.service.ProductService;
+import org.bsr.springboot.foundations.service.ProductTableVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductRestController {
 
+    // Appended to the ETags of CBOR responses, JSON responses keep the plain tag
+    private static final String CBOR_ETAG_SUFFIX = "-cbor";
+
     // Final for thread safety
     private final ProductService productService;
+    private final ProductListJsonConverter productJson;
 
     /*The ProductService is injected into the constructor. SpringBoot automatically injects dependencies into a class
      with a single constructor*/
-    public ProductRestController(ProductService productService) {
+    public ProductRestController(ProductService productService, ProductListJsonConverter productJson) {
         this.productService = productService;
+        this.productJson = productJson;
     }
 
     /**
-     * The method returns all available products as a ResponseEntity containing a list of ProductResponseDTO objects
-     * and an HTTP 200 OK status.
+     * The method returns one keyset page of products ordered by id as a ResponseEntity containing a list of
+     * ProductResponseDTO objects and an HTTP 200 OK status. The after parameter is the opaque cursor of the previous
+     * page. When more products exist a Link header with rel="next" points to the next page. The ETag is the version of
+     * the product table and the negotiated format, it is kept in memory and read before the page, so a matching
+     * If-None-Match returns 304 Not Modified without any query.
      *
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<ProductResponseDTO>> getProducts(@RequestParam(defaultValue = "50") int limit,
+                                                                @RequestParam(required = false) String after,
+                                                                WebRequest webRequest) {
+        String eTag = tableETag(productService.getProductTableVersion(), webRequest);
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified was already written
+        }
+        ProductPageDTO page = productService.getProductPage(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT);
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", limit)
+                    .replaceQueryParam("after", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.products());
+    }
+
+    /**
+     * The method streams every product as newline delimited JSON, one ProductResponseDTO per line. Rows are written
+     * as they are read from the database so memory stays flat regardless of the table size. Lines reuse the cached
+     * JSON fragment of the product when it is unchanged.
+     *
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody body = outputStream -> productService.streamAllProducts(product -> {
+            try {
+                outputStream.write(productJson.toJson(product));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok(body);
     }
 
     /**
      * The method returns an available product by its id. If the product exists, a 200 OK response with the mapped
-     * ProductResponseDTO is returned. If not found, a 404 Not Found response is returned.
+     * ProductResponseDTO is returned. If not found, a 404 Not Found response is returned. The response carries the
+     * product's ETag and Last-Modified, Spring answers a matching conditional request with 304 and no body.
      *
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> getProduct(@PathVariable Long id) {
-        return productService.getProductById(id).map(ResponseEntity::ok).orElseGet(() ->
-                ResponseEntity.notFound().build());
+    public ResponseEntity<ProductResponseDTO> getProduct(@PathVariable Long id, WebRequest webRequest) {
+        return productService.getProductById(id)
+                .map(product -> withValidators(ResponseEntity.ok(), product, webRequest).body(product))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * The method creates a new product and returns 201 Created with a Location header.
      */
     @PostMapping
-    public ResponseEntity<ProductResponseDTO> createProduct(@Valid @RequestBody ProductRestRequestDTO requestDTO) {
+    public ResponseEntity<ProductResponseDTO> createProduct(@Valid @RequestBody ProductRestRequestDTO requestDTO,
+                                                            WebRequest webRequest) {
         ProductResponseDTO createdProduct = productService.createProductFromRequest(requestDTO);
         // Returns 201 created and the uri of the resource
-        return ResponseEntity.created(URI.create("/api/products/" + createdProduct.id())).body(createdProduct);
+        return withValidators(ResponseEntity.created(URI.create("/api/products/" + createdProduct.id())),
+                createdProduct, webRequest).body(createdProduct);
     }
 
     /**
@@ -79,13 +147,135 @@ public class ProductRestController {
     /**
      * The method updates an existing product. Takes the Id of the product from the url path and a requestDTO containing
      * the updated product data. Returns  200 ok with the updated product if found or a 404 not found if the id doesnt
-     * exist.
+     * exist. An If-Match header holding the ETag the client read makes the update conditional, a product changed since
+     * returns 412 Precondition Failed through the GlobalExceptionHandler.
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponseDTO> updateProduct(@PathVariable Long id,
-                                                            @Valid @RequestBody ProductRestRequestDTO requestDTO) {
-        return productService.updateProduct(id, requestDTO)
-                .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+                                                            @Valid @RequestBody ProductRestRequestDTO requestDTO,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH,
+                                                                    required = false) String ifMatch,
+                                                            WebRequest webRequest) {
+        return productService.updateProduct(id, requestDTO, expectedVersion(id, ifMatch))
+                .map(product -> withValidators(ResponseEntity.ok(), product, webRequest).body(product))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+
+    }
 
+    /**
+     * The method creates every product in the request body in one transaction. The whole payload is validated first,
+     * a single invalid item returns 400 Bad Request and nothing is written. Returns 200 OK with one result per item.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductBatchResultDTO>> createProducts(
+            @Valid @RequestBody ProductBatchRequestDTO requestDTO) {
+        return ResponseEntity.ok(productService.createProductsFromRequest(requestDTO.products()));
+    }
+
+    /**
+     * The method updates every product in the request body in one transaction. Returns 200 OK with one result per
+     * item, items whose id does not exist get a 404 result instead of failing the batch.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<ProductBatchResultDTO>> updateProducts(
+            @Valid @RequestBody ProductBatchUpdateDTO requestDTO) {
+        return ResponseEntity.ok(productService.updateProducts(requestDTO.products()));
+    }
+
+    /**
+     * The method deletes every product in the ids parameter in one transaction. Returns 200 OK with one result per id,
+     * 204 when the product was deleted and 404 when it was not found.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<ProductBatchResultDTO>> deleteProducts(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.deleteProducts(ids));
+    }
+
+    /**
+     * Helper method that adds the product's strong ETag, built from its id, version and the negotiated format, and its
+     * Last-Modified time to the response. Products without version information get neither header. The JSON and CBOR
+     * bodies differ byte for byte, so they get different strong ETags, a JSON ETag never answers a CBOR request with
+     * 304.
+     */
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response,
+                                                             ProductResponseDTO product, WebRequest webRequest) {
+        response.varyBy(HttpHeaders.ACCEPT);
+        if (product.version() != null) {
+            response.eTag(product.id() + "-" + product.version() + eTagSuffix(webRequest));
+        }
+        if (product.lastModified() != null) {
+            response.lastModified(product.lastModified());
+        }
+        return response;
+    }
+
+    /**
+     * Helper method that reads the expected product version from an If-Match header. Returns null when there is no
+     * header or it is the * wildcard. The ETag of either format is accepted, both name the same version. Throws
+     * OptimisticLockingFailureException when no strong ETag in the header belongs to the product, since such a
+     * precondition can never match.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String prefix = id + "-";
+        for (ETag eTag : ETag.parse(ifMatch)) {
+            if (eTag.isWildcard()) {
+                return null;
+            }
+            if (!eTag.weak() && eTag.tag().startsWith(prefix)) {
+                String version = eTag.tag().substring(prefix.length());
+                if (version.endsWith(CBOR_ETAG_SUFFIX)) {
+                    version = version.substring(0, version.length() - CBOR_ETAG_SUFFIX.length());
+                }
+                try {
+                    return Long.valueOf(version);
+                } catch (NumberFormatException ex) {
+                    break;
+                }
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match does not match product " + id + ".");
+    }
+
+    /**
+     * Helper method that builds the strong ETag of the product collection from the version of the table and the
+     * negotiated format.
+     */
+    private static String tableETag(ProductTableVersion tableVersion, WebRequest webRequest) {
+        return "\"products-" + tableVersion.epoch() + "-" + tableVersion.version() + eTagSuffix(webRequest) + "\"";
+    }
+
+    /**
+     * Helper method that returns the ETag suffix of the format the response will be written in. The ETag is checked
+     * before the body is written, so the collection can answer 304 without reading the page, and the format is worked
+     * out from the Accept header the way the message converters pick it: the accepted types in order of quality and
+     * specificity, the first one JSON or CBOR can satisfy decides. Types of equal quality and specificity keep their
+     * header order, so Accept: application/cbor, application/json gets CBOR. Wildcards are satisfied by JSON first,
+     * it is registered ahead of CBOR. A missing or invalid header gets the JSON ETag. ProductContentNegotiationTest
+     * checks the suffix against the format actually written.
+     */
+    private static String eTagSuffix(WebRequest webRequest) {
+        String[] accept = webRequest.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(Arrays.asList(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR_ETAG_SUFFIX;
+            }
+        }
+        return "";
     }
-}
\ No newline at end of file
+}
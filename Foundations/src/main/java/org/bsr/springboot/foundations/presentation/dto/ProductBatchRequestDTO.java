@@ -0,0 +1,24 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductBatchRequestDTO is a data transfer object that is used in a batch POST request handled by
+ *              the ProductRestController. @Valid cascades the ProductRestRequestDTO constraints to every item so the
+ *              whole payload is validated before anything is written.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProductBatchRequestDTO(
+
+        @NotEmpty(message = "At least one product is required.")
+        @Size(max = 1000, message = "Max 1000 products per batch.")
+        List<@Valid ProductRestRequestDTO> products
+) {
+}
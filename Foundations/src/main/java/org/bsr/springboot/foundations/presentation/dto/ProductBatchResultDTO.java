@@ -0,0 +1,18 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductBatchResultDTO is a data transfer object that reports the outcome of one item of a batch
+ *              request. The index is the position of the item in the request, the status is the HTTP status the item
+ *              would have received as a single request and the product is null when there is nothing to return.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.dto;
+
+public record ProductBatchResultDTO(
+        int index,
+        Long id,
+        int status,
+        ProductResponseDTO product
+) {
+}
@@ -0,0 +1,35 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductBatchUpdateDTO is a data transfer object that is used in a batch PUT request handled by the
+ *              ProductRestController. Each item pairs the id of an existing product with its updated fields.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProductBatchUpdateDTO(
+
+        @NotEmpty(message = "At least one product is required.")
+        @Size(max = 1000, message = "Max 1000 products per batch.")
+        List<@Valid Item> products
+) {
+
+    public record Item(
+
+            @NotNull(message = "Product id is required.")
+            Long id,
+
+            @NotNull(message = "Product is required.")
+            @Valid
+            ProductRestRequestDTO product
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductPageDTO is a data transfer object that holds one keyset page of products and the opaque
+ *              cursor for the next page. The cursor is null when there are no more products to read.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.dto;
+
+import java.util.List;
+
+public record ProductPageDTO(
+        List<ProductResponseDTO> products,
+        String nextCursor
+) {
+}
@@ -1,6 +1,7 @@
 /***********************************************************************************************************************
  * Project: Core Spring Boot Foundations - Phase 1
  * Description: The ProductResponseDTO is a data transfer object meant to display the results of client requests.
+ *              The version and last modified time are not serialized, they back the ETag and Last-Modified headers.
  * Author: Benjamin Soto-Roberts
  * Created: 01/02/26
  * */
@@ -8,14 +9,27 @@
 package org.bsr.springboot.foundations.presentation.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public record ProductResponseDTO(
         Long id,
         String productName,
         String productDesc,
         @JsonFormat(shape = JsonFormat.Shape.STRING) // Preserves scale from serialization
-        BigDecimal retailPrice
+        BigDecimal retailPrice,
+        @JsonIgnore
+        Long version,
+        @JsonIgnore
+        Instant lastModified
 ) {
+
+    /**
+     * Creates a response without version information, for products that have not been read from the database.
+     * */
+    public ProductResponseDTO(Long id, String productName, String productDesc, BigDecimal retailPrice) {
+        this(id, productName, productDesc, retailPrice, null, null);
+    }
 }
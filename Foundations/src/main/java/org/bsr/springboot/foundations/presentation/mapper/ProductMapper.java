@@ -34,7 +34,9 @@ public class ProductMapper {
                 product.getId(),
                 product.getProductName(),
                 product.getProductDesc(),
-                product.getRetailPrice()
+                product.getRetailPrice(),
+                product.getVersion(),
+                product.getLastModified()
         );
     }
 
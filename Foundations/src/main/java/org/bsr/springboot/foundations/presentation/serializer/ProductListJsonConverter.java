@@ -0,0 +1,122 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductListJsonConverter is an HttpMessageConverter that writes List<ProductResponseDTO> response
+ *              bodies as JSON by joining precomputed JSON fragments, one per product, instead of serializing every
+ *              record through Jackson on every request. Fragments are encoded once with the application JsonMapper,
+ *              so the output is byte for byte what Jackson would write, and are kept in a bounded Caffeine cache
+ *              keyed by product id. A fragment is only reused for the product version it was encoded from, and is
+ *              dropped when the product changes.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.serializer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.service.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ProductListJsonConverter extends AbstractSmartHttpMessageConverter<List<ProductResponseDTO>> {
+
+    private final JsonMapper jsonMapper;
+    private final Cache<Long, JsonFragment> fragments;
+
+    /*The JsonMapper is injected into the constructor. SpringBoot automatically injects dependencies into a class
+     with a single constructor*/
+    public ProductListJsonConverter(JsonMapper jsonMapper,
+                                    @Value("${foundations.json.fragment-cache-size:10000}") long maximumSize) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonMapper = jsonMapper;
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Returns the encoded JSON object of the product. The cached fragment is returned when it was encoded from the
+     * same product version, otherwise the product is encoded and cached. Products without a version are encoded every
+     * time. The returned array is shared and must not be modified.
+     * */
+    public byte[] toJson(ProductResponseDTO product) {
+        if (product.version() == null) {
+            return jsonMapper.writeValueAsBytes(product);
+        }
+        JsonFragment cached = fragments.getIfPresent(product.id());
+        if (cached != null && cached.version() == product.version()) {
+            return cached.json();
+        }
+        byte[] json = jsonMapper.writeValueAsBytes(product);
+        fragments.put(product.id(), new JsonFragment(product.version(), json));
+        return json;
+    }
+
+    /**
+     * Writes the products as a JSON array of their fragments to the output stream.
+     * */
+    public void writeJsonArray(List<ProductResponseDTO> products, OutputStream outputStream) throws IOException {
+        outputStream.write('[');
+        for (int i = 0; i < products.size(); i++) {
+            if (i > 0) {
+                outputStream.write(',');
+            }
+            outputStream.write(toJson(products.get(i)));
+        }
+        outputStream.write(']');
+    }
+
+    /**
+     * Drops the fragment of a changed product after the transaction commits. The version check already keeps a stale
+     * fragment from being written, this frees the memory of deleted and rewritten products straight away.
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        fragments.invalidate(event.id());
+    }
+
+    // Only List<ProductResponseDTO> bodies are written, anything else is left to the Jackson converter
+    @Override
+    public boolean canWrite(ResolvableType type, Class<?> valueClass, MediaType mediaType) {
+        return List.class.isAssignableFrom(valueClass)
+                && type.asCollection().resolveGeneric(0) == ProductResponseDTO.class
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<ProductResponseDTO> products, ResolvableType type,
+                                 HttpOutputMessage outputMessage, Map<String, Object> hints) throws IOException {
+        writeJsonArray(products, outputMessage.getBody());
+    }
+
+    // Write only, request bodies are never product lists
+    @Override
+    public boolean canRead(ResolvableType type, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<ProductResponseDTO> read(ResolvableType type, HttpInputMessage inputMessage,
+                                         Map<String, Object> hints) {
+        throw new HttpMessageNotReadableException("Product lists are not readable.", inputMessage);
+    }
+
+    // The fragment of one product version
+    private record JsonFragment(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,237 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductSearchIndex is an in-memory trigram inverted index over product names. Every lower cased
+ *              name is split into overlapping three character grams and each gram maps to the ids of the products that
+ *              contain it. A substring search intersects the id sets of the search term's grams and then confirms the
+ *              few remaining candidates, so the cost depends on the number of matches instead of the catalog size. The
+ *              index is built once the application is ready and kept in sync through ProductChangedEvents. Changes
+ *              that commit while the index is being rebuilt are replayed onto the new index before it replaces the old
+ *              one, so a snapshot read before the change cannot overwrite it.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.search;
+
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.service.ProductChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final ProductRepository repository;
+
+    // The live index, replaced as a whole when a rebuild finishes so searches never see a half built index
+    private volatile Trigrams trigrams = new Trigrams();
+    // Changes applied while a rebuild reads the table, replayed onto the rebuilt index. Null when no rebuild runs,
+    // guarded by this
+    private List<ProductChangedEvent> changesDuringRebuild;
+    private volatile boolean ready;
+
+    /*The ProductRepository is injected into the constructor. SpringBoot automatically injects dependencies into a class
+     with a single constructor*/
+    public ProductSearchIndex(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Builds the index from the product table once the application is ready, which is after the CommandLineRunner has
+     * seeded the database. Until this finishes isReady returns false and callers fall back to the database query.
+     * The table is read into a new index while changes keep being applied to the live one and are recorded. The
+     * recorded changes are then replayed onto the new index and it is swapped in, both under the lock that change
+     * events take, so no change is lost or overwritten by the older snapshot.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        Trigrams rebuilt = new Trigrams();
+        boolean read = false;
+        try (Stream<Product> products = repository.streamAllByOrderByIdAsc()) {
+            products.forEach(product -> rebuilt.add(product.getId(), product.getProductName()));
+            read = true;
+        } finally {
+            synchronized (this) {
+                if (read) {
+                    changesDuringRebuild.forEach(rebuilt::apply);
+                    trigrams = rebuilt;
+                }
+                changesDuringRebuild = null;
+            }
+        }
+        ready = true;
+    }
+
+    /**
+     * Applies a product change to the index after the surrounding transaction commits. fallbackExecution lets the
+     * listener still run when the event is published outside a transaction.
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        apply(event);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces the name indexed for a product id. Writes are synchronized because they are rare compared to
+     * searches and must remove the grams of the previous name before adding the new ones.
+     * */
+    public synchronized void index(Long id, String productName) {
+        apply(ProductChangedEvent.saved(id, productName));
+    }
+
+    /**
+     * Removes a product id and all of its grams from the index.
+     * */
+    public synchronized void remove(Long id) {
+        apply(ProductChangedEvent.deleted(id));
+    }
+
+    /**
+     * Returns the ids, in ascending order, of every product whose name contains the search term ignoring case. Terms
+     * shorter than a gram cannot be looked up in the postings so they are matched against the in-memory names.
+     * */
+    public List<Long> search(String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        Trigrams trigrams = this.trigrams;
+        Map<Long, String> names = trigrams.names();
+
+        List<Long> matches = new ArrayList<>();
+        if (term.length() < GRAM_SIZE) {
+            names.forEach((id, name) -> {
+                if (name.contains(term)) {
+                    matches.add(id);
+                }
+            });
+        } else {
+            Set<Long> candidates = smallestPosting(trigrams.postings(), term);
+            for (Long id : candidates) {
+                String name = names.get(id);
+                // Having every gram does not guarantee the grams are adjacent, so confirm the substring
+                if (name != null && name.contains(term)) {
+                    matches.add(id);
+                }
+            }
+        }
+        matches.sort(Comparator.naturalOrder());
+        return matches;
+    }
+
+    /**
+     * Helper method that returns the smallest posting set among the grams of the term. Every match must appear in
+     * every posting, so scanning only the smallest one and confirming each candidate is enough.
+     * */
+    private static Set<Long> smallestPosting(Map<String, Set<Long>> postings, String term) {
+        Set<Long> smallest = null;
+        for (String gram : grams(term)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Helper method that applies a change to the live index and records it for a running rebuild. Callers hold the
+     * lock.
+     * */
+    private void apply(ProductChangedEvent change) {
+        trigrams.apply(change);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    /**
+     * Helper method that splits a lower cased string into its distinct overlapping grams.
+     * */
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    /**
+     * The grams and names of one generation of the index. Writes are made under the ProductSearchIndex lock, or before
+     * the generation is published by a rebuild, searches read the concurrent maps without locking.
+     * */
+    private record Trigrams(
+            // gram -> ids of the products whose name contains the gram
+            Map<String, Set<Long>> postings,
+            // id -> lower cased product name, used to confirm candidates and to remove stale grams on update
+            Map<Long, String> names
+    ) {
+
+        Trigrams() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void apply(ProductChangedEvent event) {
+            if (event.deleted()) {
+                remove(event.id());
+            } else {
+                add(event.id(), event.productName());
+            }
+        }
+
+        /**
+         * Adds or replaces the name indexed for a product id, removing the grams of the previous name first.
+         * */
+        void add(Long id, String productName) {
+            remove(id);
+            String name = productName.toLowerCase(Locale.ROOT);
+            names.put(id, name);
+            for (String gram : grams(name)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        /**
+         * Removes a product's name and grams.
+         * */
+        void remove(Long id) {
+            String previous = names.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : grams(previous)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductChangedEvent is an application event published by the ProductService whenever a product is
+ *              created, updated or deleted. Components that keep derived copies of product data (search index, caches)
+ *              listen for it after the transaction commits so they never see a change that was rolled back.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+public record ProductChangedEvent(
+        Long id,
+        String productName,
+        boolean deleted
+) {
+
+    public static ProductChangedEvent saved(Long id, String productName) {
+        return new ProductChangedEvent(id, productName, false);
+    }
+
+    public static ProductChangedEvent deleted(Long id) {
+        return new ProductChangedEvent(id, null, true);
+    }
+}
@@ -0,0 +1,40 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductCursor is a small helper that converts the id of the last product on a page into an opaque
+ *              URL safe token and back. Clients pass the token in the after parameter to fetch the next page and
+ *              should not depend on its format.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class ProductCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ProductCursor() {}
+
+    /**
+     * Encodes the id of the last product returned on a page into a cursor token.
+     * */
+    public static String encode(Long id) {
+        return ENCODER.encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor token back into a product id. Throws IllegalArgumentException for tokens that were not created
+     * by encode so the GlobalExceptionHandler can return a 400 Bad Request.
+     * */
+    public static Long decode(String cursor) {
+        try {
+            return Long.valueOf(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException ex) { // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Invalid pagination cursor.");
+        }
+    }
+}
@@ -1,26 +1,46 @@
 /***********************************************************************************************************************
  * Project: Core Spring Boot Foundations - Phase 1
  * Description: Service layer containing business logic for querying, validating, and creating Product entities based
- *              on client requests.
+ *              on client requests. Publishes a ProductChangedEvent for every write so derived copies of product data
+ *              can be kept in sync.
  * Author: Benjamin Soto-Roberts
  * Created: 01/03/26
  * */
 
 package org.bsr.springboot.foundations.service;
 
+import jakarta.persistence.EntityManager;
+import org.bsr.springboot.foundations.cache.ProductResponseCache;
+import org.bsr.springboot.foundations.persistence.entity.Money;
 import org.bsr.springboot.foundations.persistence.entity.Product;
 import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchResultDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchUpdateDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductPageDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductRequestDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
 import org.bsr.springboot.foundations.presentation.mapper.ProductMapper;
+import org.bsr.springboot.foundations.search.ProductSearchIndex;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
@@ -28,28 +48,59 @@ public class ProductService {
     // Declared final because dependencies are injected once via constructor and never reassigned
     private final ProductRepository repository;
     private final ProductMapper mapper;
-    private static final BigDecimal STNDRD_RETAIL_MARKUP = BigDecimal.TEN;
+    private final EntityManager entityManager;
+    private final ProductSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductTableVersionCounter tableVersionCounter;
+    private final ProductResponseCache productCache;
+    private static final Money STNDRD_RETAIL_MARKUP = Money.ofCents(1000);
+    // Request prices are checked before they are converted, the vendor price is derived from the rounded retail price
+    private static final BigDecimal MIN_RETAIL_PRICE = STNDRD_RETAIL_MARKUP.toBigDecimal();
+    private static final int MAX_PAGE_SIZE = 500;
+    // Matches spring.jpa.properties.hibernate.jdbc.batch_size so each flushed chunk is sent as one JDBC batch
+    private static final int BATCH_CHUNK_SIZE = 50;
 
     /*The ProductRepository is injected into the constructor. SpringBoot automatically injects dependencies into a class
      with a single constructor*/
-    public ProductService(ProductRepository repository, ProductMapper mapper) {
+    public ProductService(ProductRepository repository, ProductMapper mapper, EntityManager entityManager,
+                          ProductSearchIndex searchIndex, ApplicationEventPublisher eventPublisher,
+                          ProductTableVersionCounter tableVersionCounter, ProductResponseCache productCache) {
         this.repository = repository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.tableVersionCounter = tableVersionCounter;
+        this.productCache = productCache;
     }
 
 
     /**
-     * The method takes in the client request and uses the abstract method created in the ProductRepository to check if
-     * the clients search term was found in any of the product names then maps the list of products to response
-     * dtos to display back to the client.
+     * The method takes in the client request and looks up the ids of the products whose name contains the clients
+     * search term in the ProductSearchIndex, then loads only those products by primary key and maps them to response
+     * dtos to display back to the client. The products are multi-loaded through the Session so ids held in the
+     * second-level cache are served from it and only the misses are selected. Until the index has been built the
+     * query created in the ProductRepository is used instead.
      * */
     @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsContaining(ProductRequestDTO productRequest) {
         String searchTerm = productRequest.productName().trim();
 
-        List<Product> products = repository.findAllByProductNameContainingIgnoreCase(searchTerm);
+        if (!searchIndex.isReady()) {
+            List<Product> products = repository.findAllByProductNameContainingIgnoreCase(searchTerm);
 
-        return products.stream()
+            return products.stream()
+                    .map(mapper::toResponseDto)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = searchIndex.search(searchTerm);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class).findMultiple(Product.class, ids).stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Product::getId))
                 .map(mapper::toResponseDto)
                 .collect(Collectors.toList());
     }
@@ -68,12 +119,60 @@ public class ProductService {
     }
 
     /**
-     * The method selects a product by its id. Returns an optional in case the request is not found.
-     * Used for api calls.
+     * The method returns one keyset page of products ordered by id. The after cursor is the opaque token returned with
+     * the previous page, null for the first page. One extra row is read to find out if there is a next page without a
+     * count query. Throws IllegalArgumentException if the limit is out of range or the cursor is invalid.
      * */
     @Transactional(readOnly = true)
+    public ProductPageDTO getProductPage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        Long afterId = after == null ? 0L : ProductCursor.decode(after);
+
+        List<Product> products = repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
+
+        boolean hasNext = products.size() > limit;
+        List<ProductResponseDTO> page = products.stream()
+                .limit(limit)
+                .map(mapper::toResponseDto)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? ProductCursor.encode(page.getLast().id()) : null;
+
+        return new ProductPageDTO(page, nextCursor);
+    }
+
+    /**
+     * The method returns the current version of the product table, used to tag the product collection without reading
+     * the table. The version changes with every committed create, update and delete.
+     * */
+    public ProductTableVersion getProductTableVersion() {
+        return tableVersionCounter.current();
+    }
+
+    /**
+     * The method streams every product ordered by id to the consumer one at a time. Each entity is detached once it
+     * has been mapped so the persistence context does not grow with the table, keeping memory flat for exports.
+     * */
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductResponseDTO> consumer) {
+        try (Stream<Product> products = repository.streamAllByOrderByIdAsc()) {
+            products.forEach(product -> {
+                consumer.accept(mapper.toResponseDto(product));
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    /**
+     * The method selects a product by its id. Returns an optional in case the request is not found.
+     * Used for api calls. Results are read through the ProductResponseCache, so a cached product is returned without
+     * a transaction or a mapping. A miss is read through the read-write second-level cache region. The cached product
+     * is dropped after every committed change to it, and a reader that loaded the row before the commit cannot put it
+     * back afterwards, so later reads carry the current version for the ETag and If-Match checks.
+     * */
     public Optional<ProductResponseDTO> getProductById(Long id) {
-        return repository.findById(id).map(mapper::toResponseDto);
+        return productCache.get(id, key -> repository.findById(key).map(mapper::toResponseDto));
     }
 
     /**
@@ -87,9 +186,10 @@ public class ProductService {
             throw new IllegalArgumentException("Retail Price cannot be less than 10 dollars.");
         }
         Product product = mapper.toProduct(requestDTO);
-        product.setVendorPrice(product.getRetailPrice().subtract(STNDRD_RETAIL_MARKUP));
+        product.setVendorMoney(product.getRetailMoney().minus(STNDRD_RETAIL_MARKUP));
 
         Product saved = repository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved.getId(), saved.getProductName()));
         return mapper.toResponseDto(saved);
 
     }
@@ -97,39 +197,176 @@ public class ProductService {
     /**
      * The method checks for an existing product using the id and then maps the fields in the requestDTO over the
      * existing product. Performs standard operations to check price rules and returns a requestDTO. Returns optional in
-     * case product is not found.
+     * case product is not found. The update is flushed before mapping so the response carries the incremented version.
+     * Concurrent updates are still detected by the version column, the later one fails with an
+     * OptimisticLockingFailureException instead of overwriting the first.
      * */
     @Transactional
     public Optional<ProductResponseDTO> updateProduct(Long id, ProductRestRequestDTO requestDTO) {
+        return updateProduct(id, requestDTO, null);
+    }
+
+    /**
+     * The method updates an existing product only if it is still at the expected version, the version the client read
+     * before editing it. Throws OptimisticLockingFailureException if the product was changed since, so a stale edit
+     * never overwrites a newer one. A null expected version skips the check.
+     * */
+    @Transactional
+    public Optional<ProductResponseDTO> updateProduct(Long id, ProductRestRequestDTO requestDTO,
+                                                      Long expectedVersion) {
         return repository.findById(id).map(existing -> {
+            if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+                throw new OptimisticLockingFailureException("Product " + id + " is at version "
+                        + existing.getVersion() + ", expected " + expectedVersion + ".");
+            }
             existing.setProductName(requestDTO.productName());
             existing.setProductDesc(requestDTO.productDesc());
 
-            BigDecimal newRetail = requestDTO.retailPrice();
-            if (!retailPriceValid(newRetail)) {
+            if (!retailPriceValid(requestDTO.retailPrice())) {
                 throw new IllegalArgumentException("New Retail price must be at least $10.00.");
             }
-            existing.setRetailPrice(newRetail);
-            existing.setVendorPrice(requestDTO.retailPrice().subtract(STNDRD_RETAIL_MARKUP));
+            existing.setRetailPrice(requestDTO.retailPrice());
+            existing.setVendorMoney(existing.getRetailMoney().minus(STNDRD_RETAIL_MARKUP));
 
             Product saved = repository.save(existing);
+            repository.flush();
+            eventPublisher.publishEvent(ProductChangedEvent.saved(saved.getId(), saved.getProductName()));
             return mapper.toResponseDto(saved);
         });
     }
 
     /**
-     * The method checks if a product exists and returns false if it does not exist otherwise deletes the product and
-     * returns true.
+     * The method deletes the product with one DELETE statement and returns false if no row was deleted because the
+     * product does not exist, otherwise true. Nothing is read first, whether or not the product is in the
+     * second-level cache, and only this product is evicted from it.
      * */
     @Transactional
     public boolean deleteProductFromRequest(Long id) {
-        if (!repository.existsById(id)) {
+        if (repository.deleteRowsById(List.of(id))[0] == 0) {
             return false;
         }
-        repository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         return true;
     }
 
+    /**
+     * The method validates the retail price of every request before anything is written, then creates the products in
+     * chunks. Each chunk is flushed as one JDBC batch and the persistence context is cleared so memory stays bounded
+     * for large imports. Returns one 201 Created result per item in request order.
+     * */
+    @Transactional
+    public List<ProductBatchResultDTO> createProductsFromRequest(List<ProductRestRequestDTO> requests) {
+        for (int i = 0; i < requests.size(); i++) {
+            if (!retailPriceValid(requests.get(i).retailPrice())) {
+                throw new IllegalArgumentException("Retail Price cannot be less than 10 dollars. Item: " + i);
+            }
+        }
+
+        List<ProductBatchResultDTO> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += BATCH_CHUNK_SIZE) {
+            List<Product> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+            for (ProductRestRequestDTO requestDTO : requests.subList(start, Math.min(start + BATCH_CHUNK_SIZE,
+                    requests.size()))) {
+                Product product = mapper.toProduct(requestDTO);
+                product.setVendorMoney(product.getRetailMoney().minus(STNDRD_RETAIL_MARKUP));
+                chunk.add(product);
+            }
+
+            List<Product> saved = repository.saveAll(chunk);
+            repository.flush();
+            for (int i = 0; i < saved.size(); i++) {
+                Product product = saved.get(i);
+                eventPublisher.publishEvent(ProductChangedEvent.saved(product.getId(), product.getProductName()));
+                results.add(new ProductBatchResultDTO(start + i, product.getId(), HttpStatus.CREATED.value(),
+                        mapper.toResponseDto(product)));
+            }
+            entityManager.clear();
+        }
+        return results;
+    }
+
+    /**
+     * The method validates the retail price of every item before anything is written, then updates the products in
+     * chunks. The products of a chunk are loaded with one query, updated and flushed as one JDBC batch. Returns a 200
+     * OK result with the updated product or a 404 Not Found result per item in request order.
+     * */
+    @Transactional
+    public List<ProductBatchResultDTO> updateProducts(List<ProductBatchUpdateDTO.Item> items) {
+        for (int i = 0; i < items.size(); i++) {
+            if (!retailPriceValid(items.get(i).product().retailPrice())) {
+                throw new IllegalArgumentException("New Retail price must be at least $10.00. Item: " + i);
+            }
+        }
+
+        List<ProductBatchResultDTO> results = new ArrayList<>(items.size());
+        for (int start = 0; start < items.size(); start += BATCH_CHUNK_SIZE) {
+            List<ProductBatchUpdateDTO.Item> chunk = items.subList(start, Math.min(start + BATCH_CHUNK_SIZE,
+                    items.size()));
+            Map<Long, Product> existing = findAllByIdAsMap(chunk.stream().map(ProductBatchUpdateDTO.Item::id)
+                    .toList());
+
+            List<Product> updated = new ArrayList<>(chunk.size());
+            for (ProductBatchUpdateDTO.Item item : chunk) {
+                Product product = existing.get(item.id());
+                if (product != null) {
+                    product.setProductName(item.product().productName());
+                    product.setProductDesc(item.product().productDesc());
+                    product.setRetailPrice(item.product().retailPrice());
+                    product.setVendorMoney(product.getRetailMoney().minus(STNDRD_RETAIL_MARKUP));
+                }
+                updated.add(product);
+            }
+            repository.flush();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                Product product = updated.get(i);
+                if (product == null) {
+                    results.add(new ProductBatchResultDTO(start + i, chunk.get(i).id(),
+                            HttpStatus.NOT_FOUND.value(), null));
+                } else {
+                    eventPublisher.publishEvent(ProductChangedEvent.saved(product.getId(), product.getProductName()));
+                    results.add(new ProductBatchResultDTO(start + i, product.getId(), HttpStatus.OK.value(),
+                            mapper.toResponseDto(product)));
+                }
+            }
+            entityManager.clear();
+        }
+        return results;
+    }
+
+    /**
+     * The method deletes the products with the given ids in chunks. Each chunk is one JDBC batch of DELETE statements
+     * by id, the row count of each statement decides between a 204 No Content and a 404 Not Found result, so nothing
+     * is read first. Returns one result per id in request order.
+     * */
+    @Transactional
+    public List<ProductBatchResultDTO> deleteProducts(List<Long> ids) {
+        List<ProductBatchResultDTO> results = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(start, Math.min(start + BATCH_CHUNK_SIZE, ids.size()));
+            int[] deleted = repository.deleteRowsById(chunk);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                if (deleted[i] > 0) {
+                    eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+                    results.add(new ProductBatchResultDTO(start + i, id, HttpStatus.NO_CONTENT.value(), null));
+                } else {
+                    results.add(new ProductBatchResultDTO(start + i, id, HttpStatus.NOT_FOUND.value(), null));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Helper method that loads the products with the given ids in one query and indexes them by id.
+     * */
+    private Map<Long, Product> findAllByIdAsMap(List<Long> ids) {
+        return repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     /**
      * Helper method to check if the retail price input is at the minimum threshold. For convenience of the demo, the
      * vendor price is derived from the input retailPrice minus a standard retail markup value. This ensures that the
@@ -137,7 +374,7 @@ public class ProductService {
      * retail markup.
      * */
     private boolean retailPriceValid(BigDecimal retailPrice) {
-        return retailPrice != null && retailPrice.compareTo(STNDRD_RETAIL_MARKUP) >= 0;
+        return retailPrice != null && retailPrice.compareTo(MIN_RETAIL_PRICE) >= 0;
     }
 
 }
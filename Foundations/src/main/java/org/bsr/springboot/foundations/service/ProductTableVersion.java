@@ -0,0 +1,16 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductTableVersion identifies the state of the product table without reading it. The epoch is
+ *              picked once per application start and the version counts the product changes committed since, so the
+ *              pair never repeats for two different states of the table, not even across restarts.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+public record ProductTableVersion(
+        String epoch,
+        long version
+) {
+}
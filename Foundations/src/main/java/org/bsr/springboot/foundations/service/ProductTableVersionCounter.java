@@ -0,0 +1,65 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductTableVersionCounter keeps the ProductTableVersion that tags the product collection. Every
+ *              ProductChangedEvent increments the version right before its transaction commits and again after, so
+ *              reading the version costs no query and no version is ever paired with rows it did not describe. The
+ *              counter lives in memory next to the in-memory H2 database, every write to the table goes through the
+ *              ProductService of this application.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single node only: the version is held by this JVM and only sees the writes of this application. Running several
+ * instances against a shared database needs a version derived from the database instead, such as a persisted version
+ * row updated in the same transaction as the products.
+ * */
+@Component
+public class ProductTableVersionCounter {
+
+    // Random per start, so a version number counted before a restart can never match the table after it
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Counts a product change that is about to commit. A request between this increment and the commit still reads
+     * the old rows, but tags them with a version that the increment after the commit retires again.
+     * */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductCommitting(ProductChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Counts a committed product change. fallbackExecution lets the listener still run when the event is published
+     * outside a transaction.
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Counts the startup writes, the demo data is saved by a CommandLineRunner without change events while the server
+     * may already answer requests.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        version.incrementAndGet();
+    }
+
+    public ProductTableVersion current() {
+        return new ProductTableVersion(epoch, version.get());
+    }
+}
@@ -0,0 +1,56 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The MetricsEndpointTest class uses @SpringBootTest with MockMvc to verify the Prometheus scrape
+ *              endpoint. Ensures it publishes request latency histograms per ProductRestController route, Hikari pool
+ *              usage, Hibernate statistics and JVM GC metrics. Metrics export is off by default in tests, so the
+ *              Prometheus registry is switched back on.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "management.prometheus.metrics.export.enabled=true")
+@AutoConfigureMockMvc
+class MetricsEndpointTest {
+
+    private final MockMvc mockMvc;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    MetricsEndpointTest(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    /**
+     * Testing that a product request shows up as a latency histogram for its route next to the pool, Hibernate and
+     * JVM metrics.
+     */
+    @Test
+    void shouldPublishPrometheusMetrics_whenProductsAreRequested() throws Exception {
+
+        // A request to record a latency sample for the route
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/api/products\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("jvm_gc_memory_allocated_bytes_total")));
+    }
+}
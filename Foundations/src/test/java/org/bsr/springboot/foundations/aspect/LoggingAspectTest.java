@@ -0,0 +1,104 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations
+ * Description: The LoggingAspectTest class applies the LoggingAspect to a ProductService proxy with mocked
+ *              dependencies and a SimpleMeterRegistry. Ensures successful and failed calls are counted in separate
+ *              timers without loading the Spring application context, and that logged arguments are summarized by
+ *              type and size instead of rendered.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.aspect;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bsr.springboot.foundations.cache.ProductResponseCache;
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.presentation.mapper.ProductMapper;
+import org.bsr.springboot.foundations.search.ProductSearchIndex;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.bsr.springboot.foundations.service.ProductTableVersionCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class) // Pure Java unit test, doesnt load Spring
+class LoggingAspectTest {
+
+    @Mock
+    ProductRepository repository;
+    @Mock
+    ProductMapper mapper;
+    @Mock
+    ProductSearchIndex searchIndex;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    SimpleMeterRegistry meterRegistry;
+    ProductService proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ProductService(repository, mapper, null,
+                searchIndex, eventPublisher, new ProductTableVersionCounter(),
+                new ProductResponseCache(meterRegistry, 100, Duration.ofMinutes(10))));
+        factory.addAspect(new LoggingAspect(meterRegistry, Duration.ofSeconds(1), 0));
+        proxy = factory.getProxy();
+    }
+
+    /**
+     * Testing that successful and failed service calls are recorded in the success and error timers of the method.
+     */
+    @Test
+    void shouldRecordSuccessAndErrorTimers() {
+
+        // The mock behavior -> repository finds nothing
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        // One successful call and one that fails the page size rule
+        proxy.getProductById(1L);
+        assertThrows(IllegalArgumentException.class, () -> proxy.getProductPage(null, 0));
+
+        Timer success = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tags("class", "ProductService", "method", "getProductById", "outcome", "success").timer();
+        Timer error = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tags("class", "ProductService", "method", "getProductPage", "outcome", "error").timer();
+
+        assertEquals(1, success.count());
+        assertEquals(1, error.count());
+    }
+
+    /**
+     * Testing that argument summaries keep numbers and report the size of text, collections and arrays without their
+     * contents.
+     */
+    @Test
+    void shouldSummarizeArgumentsWithoutTheirValues() {
+        List<ProductRestRequestDTO> batch = new ArrayList<>(Collections.nCopies(120,
+                new ProductRestRequestDTO("Secret Name\nINJECTED", "Secret", new BigDecimal("19.99"))));
+
+        String description = LoggingAspect.describeArguments(new Object[]{42L, "Secret\nName", batch, new HashMap<>(),
+                new long[3], null, batch.getFirst()});
+
+        assertEquals("[Long 42, String(11), ArrayList(120), HashMap(0), long[3], null, ProductRestRequestDTO]",
+                description);
+    }
+}
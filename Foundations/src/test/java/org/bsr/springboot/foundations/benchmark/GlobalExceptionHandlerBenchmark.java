@@ -0,0 +1,68 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The GlobalExceptionHandlerBenchmark class measures the cost of building the structured error responses
+ *              returned by the GlobalExceptionHandler for validation errors, business rule violations and database
+ *              constraint violations.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.presentation.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private MethodArgumentNotValidException validationException;
+    private IllegalArgumentException illegalArgumentException;
+    private DataIntegrityViolationException dataIntegrityViolationException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ProductRestRequestDTO target = new ProductRestRequestDTO("", null, new BigDecimal("1.00"));
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, "productRestRequestDTO");
+        bindingResult.addError(new FieldError("productRestRequestDTO", "retailPrice",
+                "Retail Price must be >= $10.00"));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("setUp"), -1);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+
+        illegalArgumentException = new IllegalArgumentException("Retail Price cannot be less than 10 dollars.");
+        dataIntegrityViolationException = new DataIntegrityViolationException(
+                "Unique index or primary key violation: PUBLIC.CONSTRAINT_INDEX_1 ON PUBLIC.PRODUCT(PRODUCT_NAME)");
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> handleValidationErrors() {
+        return handler.handleValidationErrors(validationException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument() {
+        return handler.handleIllegalArgument(illegalArgumentException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolation() {
+        return handler.handleDataIntegrityViolation(dataIntegrityViolationException);
+    }
+}
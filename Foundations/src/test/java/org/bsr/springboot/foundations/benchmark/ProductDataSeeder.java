@@ -0,0 +1,49 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductDataSeeder is a helper shared by the benchmarks that generates product names and bulk
+ *              inserts seeded rows into the PRODUCT table with JDBC batches, which is far faster than saving millions
+ *              of entities through JPA.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class ProductDataSeeder {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private ProductDataSeeder() {}
+
+    /**
+     * Returns a unique product name for the row number. Every tenth product is a CD and the rest are DVDs.
+     * */
+    static String productName(int i) {
+        return "Product " + i + (i % 10 == 0 ? " CD" : " DVD");
+    }
+
+    /**
+     * Inserts rows products with ids 1..rows into the PRODUCT table.
+     * */
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        String sql = "INSERT INTO PRODUCT (ID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE_CENTS, VENDOR_PRICE_CENTS, " +
+                "VERSION, LAST_MODIFIED) VALUES (?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)";
+        // 19.99 and 9.99 in cents
+        long retailPrice = 1999;
+        long vendorPrice = 999;
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{(long) i, productName(i), "Seeded benchmark product", retailPrice, vendorPrice});
+            if (batch.size() == BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
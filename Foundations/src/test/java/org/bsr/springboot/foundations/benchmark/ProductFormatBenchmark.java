@@ -0,0 +1,89 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductFormatBenchmark class compares the JSON and CBOR representations of a page of
+ *              ProductResponseDTOs. Measures encoding on the server side and decoding into a client side record, and
+ *              reports the payload size of each format once per trial. Run with -prof gc to compare allocations.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductFormatBenchmark {
+
+    // What a client of the API decodes a product into, prices arrive as decimal strings
+    public record ProductView(Long id, String productName, String productDesc, BigDecimal retailPrice, Long version,
+                              Instant lastModified) {
+    }
+
+    private static final TypeReference<List<ProductView>> PRODUCT_VIEWS = new TypeReference<>() {};
+
+    // The default page size of GET /api/products
+    @Param({"50"})
+    private int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private List<ProductResponseDTO> page;
+    private byte[] jsonPage;
+    private byte[] cborPage;
+
+    @Setup
+    public void setUp() {
+        Instant lastModified = Instant.parse("2026-10-17T10:15:30Z");
+        page = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ProductResponseDTO(id, "Product " + id, "Seeded benchmark product",
+                        new BigDecimal("19.99"), 0L, lastModified))
+                .toList();
+        jsonPage = jsonMapper.writeValueAsBytes(page);
+        cborPage = cborMapper.writeValueAsBytes(page);
+        System.out.printf("%n%d products: json %d bytes, cbor %d bytes%n", pageSize, jsonPage.length, cborPage.length);
+    }
+
+    @Benchmark
+    public int encodeJson() {
+        return encode(jsonMapper);
+    }
+
+    @Benchmark
+    public int encodeCbor() {
+        return encode(cborMapper);
+    }
+
+    @Benchmark
+    public List<ProductView> decodeJson() {
+        return jsonMapper.readValue(jsonPage, PRODUCT_VIEWS);
+    }
+
+    @Benchmark
+    public List<ProductView> decodeCbor() {
+        return cborMapper.readValue(cborPage, PRODUCT_VIEWS);
+    }
+
+    private int encode(ObjectMapper mapper) {
+        buffer.reset();
+        mapper.writeValue(buffer, page);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,65 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductListSerializationBenchmark class compares writing a page of ProductResponseDTOs as JSON
+ *              with Jackson, as the default message converter does, and with the ProductListJsonConverter joining
+ *              cached per-product fragments. Both write into a reused buffer so only the serialization is measured.
+ *              Run with -prof gc to compare the bytes allocated per page.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.serializer.ProductListJsonConverter;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductListSerializationBenchmark {
+
+    // The default page size and the maximum page size of GET /api/products
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ProductListJsonConverter converter = new ProductListJsonConverter(jsonMapper, 10_000);
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 * 1024);
+    private List<ProductResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        Instant lastModified = Instant.parse("2026-10-17T10:15:30Z");
+        page = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ProductResponseDTO(id, "Product " + id, "Seeded benchmark product",
+                        new BigDecimal("19.99"), 0L, lastModified))
+                .toList();
+    }
+
+    @Benchmark
+    public int jackson() {
+        buffer.reset();
+        jsonMapper.writeValue(buffer, page);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int cachedFragments() throws IOException {
+        buffer.reset();
+        converter.writeJsonArray(page, buffer);
+        return buffer.size();
+    }
+}
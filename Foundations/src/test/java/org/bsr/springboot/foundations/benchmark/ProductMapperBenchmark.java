@@ -0,0 +1,49 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductMapperBenchmark class measures the cost of mapping Product entities to ProductResponseDTOs
+ *              and ProductRestRequestDTOs to Product entities with the ProductMapper.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.presentation.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    private final ProductMapper mapper = new ProductMapper();
+    private Product product;
+    private ProductRestRequestDTO requestDTO;
+
+    @Setup
+    public void setUp() {
+        product = new Product("Adventure Time DVD", "The Best DVD in stores!", new BigDecimal("19.99"),
+                new BigDecimal("9.99"));
+        requestDTO = new ProductRestRequestDTO("Adventure Time DVD", "The Best DVD in stores!",
+                new BigDecimal("19.99"));
+    }
+
+    @Benchmark
+    public ProductResponseDTO toResponseDto() {
+        return mapper.toResponseDto(product);
+    }
+
+    @Benchmark
+    public Product toProduct() {
+        return mapper.toProduct(requestDTO);
+    }
+}
@@ -0,0 +1,183 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductPriceBenchmark class compares the price handling of the Product entity, prices stored as
+ *              long cents, with the previous entity whose BigDecimal fields were rounded with setScale on every set
+ *              and passed through to the response DTO. Covers normalizing a request price, the vendor price rule
+ *              applied by the ProductService and mapping a product to its ProductResponseDTO, plus the real read path
+ *              of a page of products loaded from the seeded H2 table and mapped to DTOs. Run with -prof gc to compare
+ *              the bytes allocated per operation, and compare loadAndMapPage with the results of the BigDecimal
+ *              columns by running the jmh profile on the commit before the cents columns.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.FoundationsApplication;
+import org.bsr.springboot.foundations.persistence.entity.Money;
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.presentation.dto.ProductPageDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.mapper.ProductMapper;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductPriceBenchmark {
+
+    private static final BigDecimal STNDRD_RETAIL_MARKUP = BigDecimal.TEN;
+    private static final Money STNDRD_RETAIL_MARKUP_MONEY = Money.ofCents(1000);
+    private static final int PAGE_SIZE = 500;
+
+    /**
+     * A request price, one already at scale 2 and one that has to be rounded, and the entities it is set on.
+     * */
+    @State(Scope.Benchmark)
+    public static class RequestPrice {
+
+        @Param({"19.99", "19.995"})
+        private String retailPrice;
+
+        private BigDecimal price;
+        private final Product product = new Product();
+        private final BigDecimalProduct previousProduct = new BigDecimalProduct();
+
+        @Setup
+        public void setUp() {
+            price = new BigDecimal(retailPrice);
+        }
+    }
+
+    /**
+     * A product as it is held after being loaded, in both representations.
+     * */
+    @State(Scope.Benchmark)
+    public static class LoadedProduct {
+
+        private final ProductMapper mapper = new ProductMapper();
+        private final Product product = new Product("Adventure Time DVD", "The Best DVD in stores!",
+                new BigDecimal("19.99"), new BigDecimal("9.99"));
+        private final BigDecimalProduct previousProduct = new BigDecimalProduct();
+
+        @Setup
+        public void setUp() {
+            previousProduct.setRetailPrice(new BigDecimal("19.99"));
+            previousProduct.setVendorPrice(new BigDecimal("9.99"));
+        }
+    }
+
+    /**
+     * The application context against an in-memory H2 database seeded with 10k products.
+     * */
+    @State(Scope.Benchmark)
+    public static class SeededCatalog {
+
+        private ConfigurableApplicationContext context;
+        private ProductService service;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // The test profile skips the demo CommandLineRunner so only the seeded rows are in the table
+            context = new SpringApplicationBuilder(FoundationsApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles("test")
+                    .properties("logging.level.root=WARN")
+                    .run();
+            ProductDataSeeder.seed(context.getBean(JdbcTemplate.class), 10_000);
+            service = context.getBean(ProductService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    /**
+     * The price fields of the previous Product entity, a BigDecimal rounded on every set and returned as stored.
+     * */
+    static class BigDecimalProduct {
+
+        private BigDecimal retailPrice;
+        private BigDecimal vendorPrice;
+
+        BigDecimal getRetailPrice() {
+            return retailPrice;
+        }
+
+        void setRetailPrice(BigDecimal retailPrice) {
+            this.retailPrice = retailPrice.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal getVendorPrice() {
+            return vendorPrice;
+        }
+
+        void setVendorPrice(BigDecimal vendorPrice) {
+            this.vendorPrice = vendorPrice.setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    // Request price -> entity field, BigDecimal to cents once at the edge
+    @Benchmark
+    public long normalizePrice(RequestPrice state) {
+        state.product.setRetailPrice(state.price);
+        return state.product.getRetailMoney().cents();
+    }
+
+    // The same step with the previous BigDecimal field
+    @Benchmark
+    public BigDecimal normalizePriceBigDecimal(RequestPrice state) {
+        state.previousProduct.setRetailPrice(state.price);
+        return state.previousProduct.getRetailPrice();
+    }
+
+    // Vendor price rule on the cents, as done by the ProductService on every write
+    @Benchmark
+    public long applyVendorPriceRule(RequestPrice state) {
+        state.product.setRetailPrice(state.price);
+        state.product.setVendorMoney(state.product.getRetailMoney().minus(STNDRD_RETAIL_MARKUP_MONEY));
+        return state.product.getVendorMoney().cents();
+    }
+
+    // The previous vendor price rule, a setScale on each set and a subtract
+    @Benchmark
+    public BigDecimal applyVendorPriceRuleBigDecimal(RequestPrice state) {
+        state.previousProduct.setRetailPrice(state.price);
+        state.previousProduct.setVendorPrice(state.previousProduct.getRetailPrice().subtract(STNDRD_RETAIL_MARKUP));
+        return state.previousProduct.getVendorPrice();
+    }
+
+    // Entity -> response DTO with the ProductMapper, the retail price is built from the cents
+    @Benchmark
+    public ProductResponseDTO mapToResponseDto(LoadedProduct state) {
+        return state.mapper.toResponseDto(state.product);
+    }
+
+    // The previous mapping, the same fields with the loaded BigDecimal passed through
+    @Benchmark
+    public ProductResponseDTO mapToResponseDtoBigDecimal(LoadedProduct state) {
+        Product product = state.product;
+        return new ProductResponseDTO(product.getId(), product.getProductName(), product.getProductDesc(),
+                state.previousProduct.getRetailPrice(), product.getVersion(), product.getLastModified());
+    }
+
+    // The real read path, a page of products selected from the table, loaded into entities and mapped to DTOs
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ProductPageDTO loadAndMapPage(SeededCatalog catalog) {
+        return catalog.service.getProductPage(null, PAGE_SIZE);
+    }
+}
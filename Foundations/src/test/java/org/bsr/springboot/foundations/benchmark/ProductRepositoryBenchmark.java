@@ -0,0 +1,98 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductRepositoryBenchmark class boots the application context against an in-memory H2 database
+ *              seeded with 10k, 100k or 1M products and measures the repository and service read paths: loading every
+ *              product, streaming every product, keyset pages at the start and deep in the table, and the LIKE name
+ *              search compared to the trigram index search.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.FoundationsApplication;
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductPageDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRequestDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.search.ProductSearchIndex;
+import org.bsr.springboot.foundations.service.ProductCursor;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+    private ProductService service;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The test profile skips the demo CommandLineRunner so only the seeded rows are in the table
+        context = new SpringApplicationBuilder(FoundationsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN")
+                .run();
+        ProductDataSeeder.seed(context.getBean(JdbcTemplate.class), rows);
+        context.getBean(ProductSearchIndex.class).rebuild();
+
+        repository = context.getBean(ProductRepository.class);
+        service = context.getBean(ProductService.class);
+        deepCursor = ProductCursor.encode((long) rows - 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public void streamAllProducts(Blackhole blackhole) {
+        service.streamAllProducts(blackhole::consume);
+    }
+
+    @Benchmark
+    public ProductPageDTO firstPage() {
+        return service.getProductPage(null, 50);
+    }
+
+    @Benchmark
+    public ProductPageDTO deepPage() {
+        return service.getProductPage(deepCursor, 50);
+    }
+
+    @Benchmark
+    public List<Product> searchLike() {
+        return repository.findAllByProductNameContainingIgnoreCase("Product 4242 DVD");
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> searchIndex() {
+        return service.getProductsContaining(new ProductRequestDTO("Product 4242 DVD"));
+    }
+}
@@ -0,0 +1,53 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductSearchIndexBenchmark class measures in-memory trigram index searches over catalogs of
+ *              different sizes, for a selective term, a term matching many products and a term shorter than a gram.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        // The repository is only used by rebuild, the benchmark indexes the names directly
+        index = new ProductSearchIndex(null);
+        for (int i = 1; i <= rows; i++) {
+            index.index((long) i, ProductDataSeeder.productName(i));
+        }
+    }
+
+    @Benchmark
+    public List<Long> searchSelectiveTerm() {
+        return index.search("Product 4242 DVD");
+    }
+
+    @Benchmark
+    public List<Long> searchCommonTerm() {
+        return index.search("0 CD");
+    }
+
+    @Benchmark
+    public List<Long> searchShortTerm() {
+        return index.search("42");
+    }
+}
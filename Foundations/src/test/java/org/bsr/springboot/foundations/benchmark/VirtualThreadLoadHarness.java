@@ -0,0 +1,159 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The VirtualThreadLoadHarness boots the application twice on a random port, first on the Tomcat
+ *              platform-thread pool and then with the virtual-threads profile, and drives each with the same number of
+ *              concurrent clients against an endpoint that blocks on a deliberately slow H2 query before reading a
+ *              product through the ProductService. It prints the throughput and the p50 and p99 latency of both modes.
+ *              Run with: ./mvnw -Pload-test test-compile exec:exec [-Dload.concurrency=1000 -Dload.requests=20000
+ *              -Dload.query-delay-ms=50]
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.benchmark;
+
+import org.bsr.springboot.foundations.FoundationsApplication;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class VirtualThreadLoadHarness {
+
+    private static final String SLOW_PATH = "/load/slow-product";
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmup-requests", 2_000);
+    private static final int QUERY_DELAY_MS = Integer.getInteger("load.query-delay-ms", 50);
+    // Sized above the Tomcat default of 200 threads so the platform-thread pool, not the connection pool, is the limit
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 400);
+
+    private VirtualThreadLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("concurrency=%d requests=%d query-delay=%dms pool-size=%d%n",
+                CONCURRENCY, REQUESTS, QUERY_DELAY_MS, POOL_SIZE);
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        run("platform", "test");
+        run("virtual", "test", "virtual-threads");
+    }
+
+    /**
+     * Boots the application with the given profiles, warms it up and prints the results of one measured load run.
+     * */
+    private static void run(String mode, String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FoundationsApplication.class)
+                .profiles(profiles)
+                .initializers(VirtualThreadLoadHarness::registerSlowRoute)
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        // Keep client connections open, otherwise Tomcat closes them every 100 requests and the
+                        // client races the close on reuse
+                        "server.tomcat.max-keep-alive-requests=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)
+                .run()) {
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR '" +
+                    VirtualThreadLoadHarness.class.getName() + ".sleep'");
+            ProductDataSeeder.seed(jdbcTemplate, 1);
+
+            URI uri = URI.create("http://localhost:" +
+                    context.getEnvironment().getProperty("local.server.port") + SLOW_PATH);
+            load(uri, WARMUP_REQUESTS);
+            LoadResult result = load(uri, REQUESTS);
+            System.out.printf(Locale.ROOT, "%-10s %12.0f %10.1f %10.1f %8d%n", mode, result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.errors());
+        }
+    }
+
+    /**
+     * Registers the slow endpoint as a functional route. It is added programmatically so component scanning in the
+     * regular test contexts never picks it up.
+     * */
+    private static void registerSlowRoute(ConfigurableApplicationContext context) {
+        ((GenericApplicationContext) context).registerBean("slowProductRoute", RouterFunction.class, () -> {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            ProductService service = context.getBean(ProductService.class);
+            return RouterFunctions.route().GET(SLOW_PATH, request -> {
+                jdbcTemplate.queryForObject("SELECT SLEEP(?)", Integer.class, QUERY_DELAY_MS);
+                return ServerResponse.ok().body(service.getProductById(1L).orElseThrow());
+            }).build();
+        });
+    }
+
+    /**
+     * Sends requests GET requests with at most CONCURRENCY in flight, one virtual thread per request, and records the
+     * latency of each.
+     * */
+    private static LoadResult load(URI uri, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        long start = System.nanoTime();
+        // The executor is declared last so it is closed first, waiting for every request before the client shuts down
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                executor.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadResult(latencies, elapsed, errors.get());
+    }
+
+    /**
+     * Backs the H2 SLEEP alias used to make the query slow. Returns the delay so it can be selected as a value.
+     * */
+    public static int sleep(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return millis;
+    }
+
+    private record LoadResult(long[] sortedLatencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductCacheTest class uses @SpringBootTest to verify that product reads by id stay consistent with
+ *              the H2 database when a read overlaps a committed update. The reader is held after it loaded the old row
+ *              until the update has committed, the next read must still return the updated product and version.
+ *              Ensures repeated reads are served by the ProductResponseCache and counted in its hit and miss meters.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.presentation.mapper.ProductMapper;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductCacheTest {
+
+    private final ProductService productService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    // Lets the test hold a reader between loading the product and returning it
+    @MockitoSpyBean
+    ProductMapper mapper;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductCacheTest(ProductService productService, EntityManagerFactory entityManagerFactory,
+                     MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Testing that the first read of a product is a miss and the next reads are hits that return the cached product
+     * without mapping it again, and that the eviction meter is published next to them.
+     */
+    @Test
+    void shouldServeRepeatedReadsFromCache_andCountHitsAndMisses() {
+
+        // Arranging the test data
+        Long id = productService.createProductFromRequest(new ProductRestRequestDTO("Cache Hit DVD", "Cached",
+                new BigDecimal("19.99"))).id();
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+        clearInvocations(mapper);
+
+        ProductResponseDTO first = productService.getProductById(id).orElseThrow();
+        ProductResponseDTO second = productService.getProductById(id).orElseThrow();
+        ProductResponseDTO third = productService.getProductById(id).orElseThrow();
+
+        assertEquals(first, second);
+        assertEquals(first, third);
+        verify(mapper, times(1)).toResponseDto(any(Product.class));
+        assertEquals(misses + 1, cacheGets("miss"));
+        assertEquals(hits + 2, cacheGets("hit"));
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", ProductResponseCache.CACHE_NAME)
+                .functionCounter());
+    }
+
+    /**
+     * Testing that a read which loaded the old row before an update committed does not leave the old version behind,
+     * the next read returns the updated product.
+     */
+    @Test
+    void shouldReturnUpdatedProduct_whenReadOverlapsCommittedUpdate() throws Exception {
+
+        // Arranging the test data, evicted so the reader loads the row from the table
+        Long id = productService.createProductFromRequest(new ProductRestRequestDTO("Cache Race DVD", "Original",
+                new BigDecimal("19.99"))).id();
+        entityManagerFactory.getCache().evict(Product.class, id);
+
+        // The first mapping, the reader's, waits until the update has committed
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loaded.countDown();
+            assertTrue(committed.await(10, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(mapper).toResponseDto(any(Product.class));
+
+        CompletableFuture<Optional<ProductResponseDTO>> reader =
+                CompletableFuture.supplyAsync(() -> productService.getProductById(id));
+        assertTrue(loaded.await(10, TimeUnit.SECONDS));
+
+        productService.updateProduct(id, new ProductRestRequestDTO("Cache Race DVD Updated", "Updated",
+                new BigDecimal("21.99")));
+        committed.countDown();
+
+        // The overlapping reader answers with what it read, every later read sees the update
+        assertEquals(0L, reader.get(10, TimeUnit.SECONDS).orElseThrow().version());
+
+        ProductResponseDTO current = productService.getProductById(id).orElseThrow();
+        assertEquals("Cache Race DVD Updated", current.productName());
+        assertEquals(1L, current.version());
+    }
+
+    // Reads the cache.gets meter of the products cache for a hit or miss result
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", ProductResponseCache.CACHE_NAME).tag("result", result)
+                .functionCounter().count();
+    }
+}
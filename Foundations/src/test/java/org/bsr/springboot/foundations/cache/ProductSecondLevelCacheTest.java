@@ -0,0 +1,139 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductSecondLevelCacheTest class uses @SpringBootTest to verify the Hibernate second-level cache
+ *              against the H2 database. Ensures products read by id and found by a name search are served from the
+ *              cache, and that updates, single deletes and batch deletes keep it consistent with the table.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductRequestDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductSecondLevelCacheTest {
+
+    private final ProductService productService;
+    private final ProductRepository repository;
+    private final Statistics statistics;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductSecondLevelCacheTest(ProductService productService, ProductRepository repository,
+                                EntityManagerFactory entityManagerFactory) {
+        this.productService = productService;
+        this.repository = repository;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Testing that a product read by id is served from the second-level cache, that an update replaces the cached
+     * copy, and that a delete removes it so the next read finds nothing.
+     */
+    @Test
+    void shouldServeProductFromCacheAndStayConsistent_whenProductIsUpdatedAndDeleted() {
+
+        // Arranging the test data, the insert puts the product into the cache
+        Long id = create("L2 Entity DVD").id();
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long executions = statistics.getPrepareStatementCount();
+        assertEquals("L2 Entity DVD", repository.findById(id).orElseThrow().getProductName());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(executions, statistics.getPrepareStatementCount());
+
+        // Updating replaces the cached copy, the next read is still a hit and sees the new name
+        productService.updateProduct(id, new ProductRestRequestDTO("L2 Entity DVD Updated", "Cached",
+                new BigDecimal("21.99")));
+        hits = statistics.getSecondLevelCacheHitCount();
+        Product updated = repository.findById(id).orElseThrow();
+        assertEquals("L2 Entity DVD Updated", updated.getProductName());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+
+        // Deleting evicts the product, the next read goes to the table and finds nothing
+        assertTrue(productService.deleteProductFromRequest(id));
+        assertTrue(repository.findById(id).isEmpty());
+    }
+
+    /**
+     * Testing that deleting one product evicts only that product, another cached product is still read without a
+     * select.
+     */
+    @Test
+    void shouldKeepOtherProductsCached_whenProductIsDeleted() {
+
+        // Arranging the test data, the inserts put both products into the cache
+        Long deleted = create("L2 Delete DVD").id();
+        Long kept = create("L2 Keep DVD").id();
+
+        assertTrue(productService.deleteProductFromRequest(deleted));
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long executions = statistics.getPrepareStatementCount();
+        assertEquals("L2 Keep DVD", repository.findById(kept).orElseThrow().getProductName());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(executions, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Testing that the products found by a name search are loaded from the second-level cache without a select, and
+     * that an update and a batch delete are seen by the next search.
+     */
+    @Test
+    void shouldServeSearchFromCacheAndStayConsistent_whenProductsChange() {
+
+        // Arranging the test data, the inserts put both products into the cache and the search index
+        Long first = create("L2 Search DVD One").id();
+        Long second = create("L2 Search DVD Two").id();
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long executions = statistics.getPrepareStatementCount();
+        assertEquals(List.of("L2 Search DVD One", "L2 Search DVD Two"), search("L2 Search DVD"));
+        assertEquals(hits + 2, statistics.getSecondLevelCacheHitCount());
+        assertEquals(executions, statistics.getPrepareStatementCount());
+
+        // Renaming a product takes it out of the next search
+        productService.updateProduct(second, new ProductRestRequestDTO("L2 Renamed DVD", "Cached",
+                new BigDecimal("21.99")));
+        assertEquals(List.of("L2 Search DVD One"), search("L2 Search DVD"));
+
+        // A batch delete removes the products from the search and the cache
+        productService.deleteProducts(List.of(first, second));
+        assertTrue(search("L2 Search DVD").isEmpty());
+        assertTrue(repository.findById(first).isEmpty());
+        assertTrue(repository.findById(second).isEmpty());
+    }
+
+    private List<String> search(String productName) {
+        return productService.getProductsContaining(new ProductRequestDTO(productName)).stream()
+                .map(ProductResponseDTO::productName)
+                .sorted()
+                .toList();
+    }
+
+    private ProductResponseDTO create(String productName) {
+        return productService.createProductFromRequest(new ProductRestRequestDTO(productName, "Cached",
+                new BigDecimal("19.99")));
+    }
+}
@@ -0,0 +1,64 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The MoneyTest class is a plain unit test of the Money value type. Ensures request prices are rounded
+ *              half up to cents like the BigDecimal fields were, that the vendor price rule and comparisons work on
+ *              cents, and that the formatted amount matches the previous JSON output.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.persistence.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    /**
+     * Testing that amounts are rounded half up to 2 decimal places and convert back to a scale 2 BigDecimal.
+     */
+    @Test
+    void shouldRoundHalfUpToCents() {
+        assertEquals(1999, Money.of(new BigDecimal("19.99"), RoundingMode.HALF_UP).cents());
+        assertEquals(2000, Money.of(new BigDecimal("19.995"), RoundingMode.HALF_UP).cents());
+        assertEquals(1999, Money.of(new BigDecimal("19.994"), RoundingMode.HALF_UP).cents());
+        assertEquals(1000, Money.of(BigDecimal.TEN, RoundingMode.HALF_UP).cents());
+        assertEquals(new BigDecimal("19.99"), Money.ofCents(1999).toBigDecimal());
+
+        // Column values are exact, anything that would need rounding is rejected
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("19.995"), RoundingMode.UNNECESSARY));
+    }
+
+    /**
+     * Testing the vendor price rule and comparisons on cents.
+     */
+    @Test
+    void shouldSubtractAndCompareCents() {
+        Money retail = Money.ofCents(1069);
+        Money markup = Money.ofCents(1000);
+
+        assertEquals(Money.ofCents(69), retail.minus(markup));
+        assertEquals(Money.ZERO, markup.minus(markup));
+        assertTrue(Money.ofCents(999).isLessThan(markup));
+        assertTrue(retail.compareTo(markup) > 0);
+    }
+
+    /**
+     * Testing that amounts format with exactly 2 decimal places like a scale 2 BigDecimal.
+     */
+    @Test
+    void shouldFormatWithTwoDecimalPlaces() {
+        assertEquals("19.99", Money.ofCents(1999).toString());
+        assertEquals("10.00", Money.ofCents(1000).toString());
+        assertEquals("0.05", Money.ofCents(5).toString());
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("-1.50", Money.ofCents(-150).toString());
+        assertEquals("-0.05", Money.ofCents(-5).toString());
+    }
+}
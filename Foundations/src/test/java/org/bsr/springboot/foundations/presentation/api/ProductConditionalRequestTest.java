@@ -0,0 +1,102 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductConditionalRequestTest class uses @SpringBootTest with MockMvc to verify the ETag support of
+ *              the ProductRestController against the H2 database. Ensures an unchanged product or collection returns
+ *              304 Not Modified and that every write changes the ETag so the next poll returns fresh data.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductConditionalRequestTest {
+
+    private final MockMvc mockMvc;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductConditionalRequestTest(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    /**
+     * Testing that a product's ETag is stable while it is unchanged and changes when it is updated.
+     */
+    @Test
+    void shouldChangeProductETag_whenProductIsUpdated() throws Exception {
+
+        // Arranging the test data
+        MvcResult created = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productName":"ETag Test DVD","productDesc":"Versioned","retailPrice":19.99}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String location = created.getResponse().getHeader("Location");
+        String eTag = mockMvc.perform(get(location)).andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+
+        // Unchanged product -> 304
+        mockMvc.perform(get(location).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // Updating the product changes the ETag, the old one no longer matches
+        String updatedETag = mockMvc.perform(put(location)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productName":"ETag Test DVD","productDesc":"Updated","retailPrice":21.99}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, updatedETag);
+
+        mockMvc.perform(get(location).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(location).header("If-None-Match", updatedETag))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Testing that the collection ETag is stable while the table is unchanged and changes when a product is created.
+     */
+    @Test
+    void shouldChangeCollectionETag_whenProductIsCreated() throws Exception {
+
+        // Arranging the test data
+        String eTag = mockMvc.perform(get("/api/products")).andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+
+        // Unchanged table -> 304
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // Creating a product changes the collection ETag
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productName":"Collection ETag Test DVD","productDesc":"New","retailPrice":19.99}
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,157 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductContentNegotiationTest class uses @SpringBootTest with MockMvc to verify that the product
+ *              API answers Accept: application/cbor with CBOR and everything else with JSON. Ensures both formats
+ *              carry the same data, that the CBOR payload is the smaller one and that each format has its own ETag,
+ *              matching the format that is written.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.api;
+
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductContentNegotiationTest {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+
+    private final MockMvc mockMvc;
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final ProductService productService;
+    private Long id;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductContentNegotiationTest(MockMvc mockMvc, JsonMapper jsonMapper, CBORMapper cborMapper,
+                                  ProductService productService) {
+        this.mockMvc = mockMvc;
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+        this.productService = productService;
+    }
+
+    @BeforeEach
+    void createProduct() {
+        id = productService.createProductFromRequest(new ProductRestRequestDTO("Negotiated DVD " + System.nanoTime(),
+                "Negotiated", new BigDecimal("19.99"))).id();
+    }
+
+    /**
+     * Testing that a product list requested as CBOR holds the same data as the JSON list in fewer bytes.
+     */
+    @Test
+    void shouldReturnSameProductsAsCbor_whenCborIsAccepted() throws Exception {
+
+        MvcResult json = mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/api/products").accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn();
+
+        byte[] jsonBody = json.getResponse().getContentAsByteArray();
+        byte[] cborBody = cbor.getResponse().getContentAsByteArray();
+        assertEquals(jsonMapper.readTree(jsonBody), cborMapper.readTree(cborBody));
+        assertTrue(cborBody.length < jsonBody.length);
+    }
+
+    /**
+     * Testing that a single product is negotiated too, and that JSON stays the default for clients that accept
+     * anything.
+     */
+    @Test
+    void shouldNegotiateSingleProduct_andDefaultToJson() throws Exception {
+
+        byte[] cborBody = mockMvc.perform(get("/api/products/{id}", id).accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        String jsonBody = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(jsonMapper.readTree(jsonBody), cborMapper.readTree(cborBody));
+    }
+
+    /**
+     * Testing that a product and the product list have a different ETag per format, so a JSON ETag sent with a CBOR
+     * request gets the CBOR body instead of 304 Not Modified, and each format's own ETag still gets 304.
+     */
+    @Test
+    void shouldUseSeparateETagPerFormat_whenCborIsAccepted() throws Exception {
+
+        for (String uri : new String[] {"/api/products/" + id, "/api/products"}) {
+            String jsonETag = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            String cborETag = mockMvc.perform(get(uri).accept(APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertNotEquals(jsonETag, cborETag);
+
+            mockMvc.perform(get(uri).accept(APPLICATION_CBOR).header("If-None-Match", jsonETag))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR));
+            mockMvc.perform(get(uri).accept(APPLICATION_CBOR).header("If-None-Match", cborETag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get(uri).accept(MediaType.APPLICATION_JSON).header("If-None-Match", jsonETag))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    /**
+     * Testing that the ETag names the format that is actually written, for Accept headers with wildcards, qualities
+     * and types of equal rank, so the ETag worked out before the body is written cannot drift from the converters.
+     */
+    @Test
+    void shouldTagFormatActuallyWritten_whenAcceptHeaderVaries() throws Exception {
+
+        String[] acceptHeaders = {"*/*", "application/*", "application/json", "application/cbor",
+                "application/cbor, application/json", "application/json, application/cbor",
+                "application/json;q=0.5, application/cbor", "application/cbor;q=0.5, application/json",
+                "application/*, application/cbor", "text/html, */*;q=0.1"};
+
+        for (String uri : new String[] {"/api/products/" + id, "/api/products"}) {
+            for (String accept : acceptHeaders) {
+                MvcResult result = mockMvc.perform(get(uri).header("Accept", accept))
+                        .andExpect(status().isOk())
+                        .andReturn();
+                boolean cborWritten = APPLICATION_CBOR.isCompatibleWith(
+                        MediaType.parseMediaType(result.getResponse().getContentType()));
+                assertEquals(cborWritten, result.getResponse().getHeader("ETag").endsWith("-cbor\""),
+                        uri + " with Accept: " + accept);
+            }
+        }
+    }
+}
@@ -10,23 +10,38 @@
 package org.bsr.springboot.foundations.presentation.api;
 
 import org.bsr.springboot.foundations.presentation.controller.ProductRestController;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchResultDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductPageDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
 import org.bsr.springboot.foundations.service.ProductService;
+import org.bsr.springboot.foundations.service.ProductTableVersion;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -80,6 +95,31 @@ class ProductRestControllerTest {
                 .andExpect(jsonPath("$.retailPrice").value(responseDTO.retailPrice()));
     }
 
+    /**
+     * Testing FR-5 List Products. A full page returns 200 OK with the products as a JSON array and a Link header
+     * pointing at the next page using the cursor returned by the service.
+     *
+     */
+    @Test
+    void shouldReturnPageWithNextLink_whenMoreProductsExist() throws Exception {
+
+        // Arranging the test data
+        ProductResponseDTO responseDTO = new ProductResponseDTO(1L, "FR-5 Test", "A new test item",
+                new BigDecimal("19.99"));
+
+        // Mock service behavior -> a page of one product that has a next page
+        when(productService.getProductTableVersion()).thenReturn(new ProductTableVersion("e", 1L));
+        when(productService.getProductPage(null, 1)).thenReturn(new ProductPageDTO(List.of(responseDTO), "MQ"));
+
+        // Sends a fake HTTP GET request to the controller and asserts the body and the next page link
+        mockMvc.perform(get("/api/products").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(responseDTO.id()))
+                .andExpect(header().string("Link", containsString("after=MQ")))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
     /**
      * Testing AC-2 Get Product by id. A valid id returns a 200 OK with and a JSON body containing id, name,
      * description, price.
@@ -108,6 +148,51 @@ class ProductRestControllerTest {
                 .andExpect(jsonPath("$.retailPrice").value(retailPrice));
     }
 
+    /**
+     * Testing conditional GET of a product. The response carries an ETag built from the id and version, and a request
+     * repeating it in If-None-Match gets 304 Not Modified with no body.
+     *
+     */
+    @Test
+    void shouldReturnNotModified_whenProductETagMatches() throws Exception {
+
+        // Arranging the test data
+        ProductResponseDTO responseDTO = new ProductResponseDTO(1L, "ETag Test", "A new test item",
+                new BigDecimal("19.99"), 3L, Instant.parse("2026-10-17T10:15:30Z"));
+
+        // Mock service behavior -> the product exists at version 3
+        when(productService.getProductById(1L)).thenReturn(Optional.of(responseDTO));
+
+        // The first GET returns the validators, the conditional GET returns 304 without a body
+        mockMvc.perform(get("/api/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get("/api/products/{id}", 1L).header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * Testing conditional GET of the product collection. A matching If-None-Match returns 304 Not Modified before the
+     * page is read from the service.
+     *
+     */
+    @Test
+    void shouldNotReadPage_whenCollectionETagMatches() throws Exception {
+
+        // Mock service behavior -> the current version of the table
+        when(productService.getProductTableVersion()).thenReturn(new ProductTableVersion("e", 4L));
+
+        // Sends a conditional GET with the ETag of the current table state
+        mockMvc.perform(get("/api/products").header("If-None-Match", "\"products-e-4\""))
+                .andExpect(status().isNotModified());
+
+        verify(productService, never()).getProductPage(any(), anyInt());
+    }
+
     /**
      * Testing AC-3 PUT request. Updates the product, price is normalized to two decimal places and response
      * reflects updated values
@@ -124,7 +209,7 @@ class ProductRestControllerTest {
                 "A new test item", new BigDecimal("19.99"));
 
         // Mock service behavior -> when the controller requests this ID with updated fields, return the sample product
-        when(productService.updateProduct(productId, restRequestDTO)).thenReturn(Optional.of(responseDTO));
+        when(productService.updateProduct(productId, restRequestDTO, null)).thenReturn(Optional.of(responseDTO));
 
         // Sends a fake HTTP PUT request to the controller and asserts that the JSON response matches what is expected
         mockMvc.perform(put("/api/products/{id}", productId)
@@ -143,6 +228,80 @@ class ProductRestControllerTest {
                 .andExpect(jsonPath("$.retailPrice").value(responseDTO.retailPrice()));
     }
 
+    /**
+     * Testing conditional PUT. An If-Match ETag whose version is no longer current makes the service reject the update
+     * and the response is 412 Precondition Failed.
+     *
+     */
+    @Test
+    void shouldReturnPreconditionFailed_whenIfMatchIsStale() throws Exception {
+        // Arranging the test data
+        ProductRestRequestDTO restRequestDTO = new ProductRestRequestDTO("Stale Update",
+                "A new test item", new BigDecimal("19.99"));
+
+        // Mock service behavior -> the product moved past version 2
+        when(productService.updateProduct(1L, restRequestDTO, 2L))
+                .thenThrow(new OptimisticLockingFailureException("Product 1 is at version 3, expected 2."));
+
+        // Sends a PUT carrying the stale ETag
+        mockMvc.perform(put("/api/products/{id}", 1L)
+                        .header("If-Match", "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productName":"Stale Update","productDesc":"A new test item","retailPrice":19.99}
+                                """))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    /**
+     * Testing conditional PUT. The ETag of the CBOR representation names the same version as the JSON one, so the
+     * service is asked for that version and the stale update is rejected the same way.
+     *
+     */
+    @Test
+    void shouldReturnPreconditionFailed_whenCborIfMatchIsStale() throws Exception {
+        // Arranging the test data
+        ProductRestRequestDTO restRequestDTO = new ProductRestRequestDTO("Stale Update",
+                "A new test item", new BigDecimal("19.99"));
+
+        // Mock service behavior -> the product moved past version 2
+        when(productService.updateProduct(1L, restRequestDTO, 2L))
+                .thenThrow(new OptimisticLockingFailureException("Product 1 is at version 3, expected 2."));
+
+        // Sends a PUT carrying the stale ETag of the CBOR representation
+        mockMvc.perform(put("/api/products/{id}", 1L)
+                        .header("If-Match", "\"1-2-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productName":"Stale Update","productDesc":"A new test item","retailPrice":19.99}
+                                """))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        verify(productService).updateProduct(1L, restRequestDTO, 2L);
+    }
+
+    /**
+     * Testing conditional PUT. An If-Match ETag of another product can never match, so the response is 412
+     * Precondition Failed and the service is not called.
+     *
+     */
+    @Test
+    void shouldReturnPreconditionFailed_whenIfMatchIsForAnotherProduct() throws Exception {
+
+        // Sends a PUT to product 1 carrying the ETag of product 2
+        mockMvc.perform(put("/api/products/{id}", 1L)
+                        .header("If-Match", "\"2-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productName":"Wrong Product","productDesc":"A new test item","retailPrice":19.99}
+                                """))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(productService);
+    }
+
     /**
      * Testing AC-4 Delete product. DELETE returns 204 No Content Product no longer appears in subsequent listings
      */
@@ -159,4 +318,59 @@ class ProductRestControllerTest {
                 .andExpect(status().isNoContent());
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Testing batch create. A valid batch returns 200 OK with one result per item carrying the item index, the HTTP
+     * status of the item and the created product.
+     */
+    @Test
+    void shouldCreateProducts_whenBatchRequestIsValid() throws Exception {
+
+        // Arranging the test data
+        ProductResponseDTO responseDTO = new ProductResponseDTO(1L, "Batch Test", "A New Test Item",
+                new BigDecimal("19.99"));
+
+        // Mock service behavior -> one created result for the one item in the batch
+        when(productService.createProductsFromRequest(any())).thenReturn(List.of(
+                new ProductBatchResultDTO(0, 1L, 201, responseDTO)));
+
+        // Sends a fake HTTP POST request to the controller and asserts the per item results
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                "products": [
+                                    {"productName":"Batch Test", "productDesc":"A New Test Item", "retailPrice":19.99}
+                                ]
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].product.productName").value("Batch Test"));
+    }
+
+    /**
+     * Testing batch create validation. One invalid item fails the whole payload with 400 Bad Request and the service
+     * is never called.
+     */
+    @Test
+    void shouldRejectBatch_whenAnyItemIsInvalid() throws Exception {
+
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                "products": [
+                                    {"productName":"Batch Test", "productDesc":"Valid", "retailPrice":19.99},
+                                    {"productName":"Batch Test 2", "productDesc":"Too cheap", "retailPrice":1.00}
+                                ]
+                                }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['products[1].retailPrice']").exists());
+
+        verifyNoInteractions(productService);
+    }
+}
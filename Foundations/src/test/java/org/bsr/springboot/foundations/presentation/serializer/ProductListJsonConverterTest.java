@@ -0,0 +1,108 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductListJsonConverterTest class uses @SpringBootTest with MockMvc to verify that product lists
+ *              are written by the ProductListJsonConverter. Ensures the output is identical to plain Jackson, that
+ *              fragments are reused while a product is unchanged and re-encoded once it changes.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.presentation.serializer;
+
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductListJsonConverterTest {
+
+    private final MockMvc mockMvc;
+    private final ProductService productService;
+    private final ProductListJsonConverter converter;
+    private final JsonMapper jsonMapper;
+    private final RequestMappingHandlerAdapter handlerAdapter;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductListJsonConverterTest(MockMvc mockMvc, ProductService productService, ProductListJsonConverter converter,
+                                 JsonMapper jsonMapper, RequestMappingHandlerAdapter handlerAdapter) {
+        this.mockMvc = mockMvc;
+        this.productService = productService;
+        this.converter = converter;
+        this.jsonMapper = jsonMapper;
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    /**
+     * Testing that the converter is consulted before the Jackson converter and that the product list it writes is
+     * identical to the Jackson output for the same page.
+     */
+    @Test
+    void shouldWriteSameJsonAsJackson_whenListingProducts() throws Exception {
+
+        // Arranging the test data
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+        int jacksonIndex = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof JacksonJsonHttpMessageConverter) {
+                jacksonIndex = i;
+                break;
+            }
+        }
+        assertTrue(converters.indexOf(converter) >= 0);
+        assertTrue(converters.indexOf(converter) < jacksonIndex);
+
+        String body = mockMvc.perform(get("/api/products").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<ProductResponseDTO> page = productService.getProductPage(null, 500).products();
+        assertEquals(jsonMapper.writeValueAsString(page), body);
+    }
+
+    /**
+     * Testing that a fragment is reused while the product version is unchanged and re-encoded after an update.
+     */
+    @Test
+    void shouldReuseFragmentUntilProductChanges() {
+
+        // Arranging the test data
+        ProductResponseDTO created = productService.createProductFromRequest(new ProductRestRequestDTO(
+                "Fragment Test DVD", "Encoded once", new BigDecimal("19.99")));
+
+        byte[] first = converter.toJson(created);
+        assertSame(first, converter.toJson(created));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(created), first);
+
+        // The update bumps the version, the next list encodes the product again with the new values
+        ProductResponseDTO updated = productService.updateProduct(created.id(), new ProductRestRequestDTO(
+                "Fragment Test DVD", "Encoded twice", new BigDecimal("21.99"))).orElseThrow();
+        byte[] second = converter.toJson(updated);
+
+        assertNotSame(first, second);
+        assertArrayEquals(jsonMapper.writeValueAsBytes(updated), second);
+    }
+}
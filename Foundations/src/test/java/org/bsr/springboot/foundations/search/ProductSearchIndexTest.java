@@ -0,0 +1,117 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductSearchIndexTest class unit tests the trigram index used for product name searches. Ensures
+ *              that substring matches ignore case, that short terms still match, and that updates and deletes remove
+ *              stale entries without loading the Spring application context. Also ensures changes that commit while
+ *              the index is rebuilt survive the rebuild.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.search;
+
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.service.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class) // Pure Java unit test, doesnt load Spring
+class ProductSearchIndexTest {
+
+    @Mock
+    ProductRepository repository;
+
+    ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(repository);
+        index.index(1L, "Adventure Time DVD");
+        index.index(2L, "Steven Universe DVD");
+        index.index(3L, "Meshuggah CD");
+    }
+
+    /**
+     * Testing that a substring search matches ignoring case and returns ids in ascending order.
+     */
+    @Test
+    void shouldReturnMatchingIds_whenTermIsContained() {
+        assertEquals(List.of(1L, 2L), index.search("dvd"));
+        assertEquals(List.of(2L), index.search("VERSE"));
+    }
+
+    /**
+     * Testing that a term whose grams all exist but are not adjacent is not returned as a false positive.
+     */
+    @Test
+    void shouldNotMatch_whenGramsAreNotAdjacent() {
+        // "abcy" has the grams "abc" and "bcy", both found in "abcd xbcy", but is not a substring of it
+        index.index(4L, "abcd xbcy");
+
+        assertTrue(index.search("abcy").isEmpty());
+    }
+
+    /**
+     * Testing that terms shorter than a trigram are still matched.
+     */
+    @Test
+    void shouldMatchShortTerms() {
+        assertEquals(List.of(3L), index.search("cd"));
+    }
+
+    /**
+     * Testing that update and delete events replace and remove the indexed name.
+     */
+    @Test
+    void shouldApplyChanges_whenProductsAreUpdatedOrDeleted() {
+        index.onProductChanged(ProductChangedEvent.saved(1L, "Adventure Time Blu-ray"));
+        index.onProductChanged(ProductChangedEvent.deleted(2L));
+
+        assertTrue(index.search("dvd").isEmpty());
+        assertEquals(List.of(1L), index.search("blu"));
+    }
+
+    /**
+     * Testing that an update and a delete committed while the rebuild reads the table are not overwritten by the rows
+     * the rebuild read before them.
+     */
+    @Test
+    void shouldKeepChanges_whenTheyCommitDuringRebuild() {
+
+        // The mock behavior -> the table still holds the old rows, the changes commit after the first row is read
+        Product first = product(1L, "Adventure Time DVD");
+        Product second = product(2L, "Steven Universe DVD");
+        when(repository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second)
+                .peek(product -> {
+                    if (product == first) {
+                        index.onProductChanged(ProductChangedEvent.saved(1L, "Adventure Time Blu-ray"));
+                        index.onProductChanged(ProductChangedEvent.deleted(2L));
+                    }
+                }));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertTrue(index.search("dvd").isEmpty());
+        assertEquals(List.of(1L), index.search("blu"));
+    }
+
+    private static Product product(Long id, String productName) {
+        Product product = mock(Product.class);
+        when(product.getId()).thenReturn(id);
+        when(product.getProductName()).thenReturn(productName);
+        return product;
+    }
+}
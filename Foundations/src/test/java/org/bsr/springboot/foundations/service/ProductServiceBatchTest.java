@@ -0,0 +1,99 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductServiceBatchTest class uses @SpringBootTest to run the batch create, update and delete
+ *              service methods against the H2 database. Ensures batches larger than one chunk are fully written, the
+ *              standard markup rule is applied, and missing ids are reported per item instead of failing the batch.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchResultDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchUpdateDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductServiceBatchTest {
+
+    private final ProductService service;
+    private final ProductRepository repository;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductServiceBatchTest(ProductService service, ProductRepository repository) {
+        this.service = service;
+        this.repository = repository;
+    }
+
+    /**
+     * Testing batch create, update and delete over more than one chunk.
+     */
+    @Test
+    void shouldCreateUpdateAndDelete_whenBatchSpansSeveralChunks() {
+
+        // Arranging the test data, 120 products span three chunks of 50
+        List<ProductRestRequestDTO> requests = IntStream.range(0, 120)
+                .mapToObj(i -> new ProductRestRequestDTO("Batch Product " + i, "Batch", new BigDecimal("19.99")))
+                .toList();
+
+        // Create
+        List<ProductBatchResultDTO> created = service.createProductsFromRequest(requests);
+
+        assertEquals(120, created.size());
+        assertEquals(119, created.getLast().index());
+        created.forEach(result -> assertEquals(201, result.status()));
+        Long firstId = created.getFirst().id();
+        assertEquals(new BigDecimal("9.99"), repository.findById(firstId).orElseThrow().getVendorPrice());
+
+        // Update the first product and an id that does not exist
+        List<ProductBatchResultDTO> updated = service.updateProducts(List.of(
+                new ProductBatchUpdateDTO.Item(firstId, new ProductRestRequestDTO("Batch Product Updated",
+                        "Batch", new BigDecimal("29.99"))),
+                new ProductBatchUpdateDTO.Item(-1L, new ProductRestRequestDTO("Missing", "Batch",
+                        new BigDecimal("29.99")))));
+
+        assertEquals(200, updated.get(0).status());
+        assertEquals("Batch Product Updated", updated.get(0).product().productName());
+        assertEquals(404, updated.get(1).status());
+        assertEquals(new BigDecimal("19.99"), repository.findById(firstId).orElseThrow().getVendorPrice());
+
+        // Delete every created product plus an id that does not exist
+        List<Long> ids = new ArrayList<>(created.stream().map(ProductBatchResultDTO::id).toList());
+        ids.add(-1L);
+        List<ProductBatchResultDTO> deleted = service.deleteProducts(ids);
+
+        assertEquals(204, deleted.getFirst().status());
+        assertEquals(404, deleted.getLast().status());
+        assertFalse(repository.existsById(firstId));
+    }
+
+    /**
+     * Testing that a batch with one item breaking the retail price rule is rejected before anything is written.
+     */
+    @Test
+    void shouldRejectWholeBatch_whenAnyRetailPriceIsInvalid() {
+        long before = repository.count();
+
+        assertThrows(IllegalArgumentException.class, () -> service.createProductsFromRequest(List.of(
+                new ProductRestRequestDTO("Valid Batch Product", "Batch", new BigDecimal("19.99")),
+                new ProductRestRequestDTO("Invalid Batch Product", "Batch", new BigDecimal("9.99")))));
+
+        assertEquals(before, repository.count());
+    }
+}
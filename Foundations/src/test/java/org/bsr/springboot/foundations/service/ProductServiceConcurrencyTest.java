@@ -0,0 +1,102 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductServiceConcurrencyTest class uses @SpringBootTest to stress conditional product updates
+ *              against the H2 database. Several threads repeatedly read a product, increment a counter held in its
+ *              description and write it back with the version they read, retrying on conflicts. Ensures no update is
+ *              lost: the final counter equals the number of successful updates.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 25;
+    private static final int MAX_ATTEMPTS = 1_000;
+
+    private final ProductService service;
+    private final ProductRepository repository;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductServiceConcurrencyTest(ProductService service, ProductRepository repository) {
+        this.service = service;
+        this.repository = repository;
+    }
+
+    /**
+     * Testing that concurrent read-modify-write cycles with an expected version never lose an update.
+     */
+    @Test
+    void shouldNotLoseUpdates_whenProductIsUpdatedConcurrently() throws Exception {
+
+        // Arranging the test data, the description holds the counter
+        Long id = service.createProductFromRequest(new ProductRestRequestDTO("Concurrency Test DVD", "0",
+                new BigDecimal("19.99"))).id();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        increment(id);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        // Every successful update is counted exactly once and the version advanced once per update
+        Product product = repository.findById(id).orElseThrow();
+        assertEquals(THREADS * UPDATES_PER_THREAD, Integer.parseInt(product.getProductDesc()));
+        assertEquals(THREADS * UPDATES_PER_THREAD, product.getVersion());
+    }
+
+    /**
+     * Reads the product, increments its counter and writes it back with the version it read, retrying on conflicts.
+     */
+    private void increment(Long id) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Product current = repository.findById(id).orElseThrow();
+            int next = Integer.parseInt(current.getProductDesc()) + 1;
+            try {
+                service.updateProduct(id, new ProductRestRequestDTO(current.getProductName(),
+                        String.valueOf(next), current.getRetailPrice()), current.getVersion());
+                return;
+            } catch (ConcurrencyFailureException ex) {
+                // Another thread updated the product first, re-read and retry
+            }
+        }
+        throw new IllegalStateException("Update of product " + id + " did not succeed in " + MAX_ATTEMPTS
+                + " attempts.");
+    }
+}
@@ -0,0 +1,189 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductServiceStatementCountTest class uses @SpringBootTest with the StatementCounter to assert the
+ *              exact SQL statements every ProductService method sends to the H2 database. Guards against accidental
+ *              extra queries such as exists checks before deletes, re-selects after saves and N+1 loads.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.bsr.springboot.foundations.persistence.entity.Product;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchResultDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductBatchUpdateDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRequestDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
+import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
+import org.bsr.springboot.foundations.support.StatementCountingDataSourceProxy;
+import org.bsr.springboot.foundations.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(StatementCountingDataSourceProxy.class)
+class ProductServiceStatementCountTest {
+
+    private final ProductService service;
+    private final Cache secondLevelCache;
+
+    // @Autowired IS required here for test constructor injection because test classes are not Spring-managed components
+    @Autowired
+    ProductServiceStatementCountTest(ProductService service, EntityManagerFactory entityManagerFactory) {
+        this.service = service;
+        this.secondLevelCache = entityManagerFactory.getCache();
+    }
+
+    /**
+     * Testing that every read is a single select, and that the table version and product reads served by the
+     * second-level cache send nothing.
+     */
+    @Test
+    void shouldReadWithOneSelect() {
+
+        // Arranging the test data
+        Long id = create("Count Read DVD").id();
+
+        StatementCounter.reset();
+        service.getAllProducts();
+        assertEquals(1, StatementCounter.selects());
+        assertEquals(1, StatementCounter.total());
+
+        StatementCounter.reset();
+        service.getProductPage(null, 10);
+        assertEquals(1, StatementCounter.total());
+
+        StatementCounter.reset();
+        service.getProductTableVersion();
+        assertEquals(0, StatementCounter.total());
+
+        StatementCounter.reset();
+        service.streamAllProducts(product -> {});
+        assertEquals(1, StatementCounter.total());
+
+        // Search looks the ids up in the index and loads the matches from the second-level cache, where the create
+        // put them
+        StatementCounter.reset();
+        service.getProductsContaining(new ProductRequestDTO("Count Read"));
+        assertEquals(0, StatementCounter.total());
+
+        // The create put the product into the second-level cache, both reads are served from it
+        StatementCounter.reset();
+        service.getProductById(id);
+        assertEquals(0, StatementCounter.total());
+
+        StatementCounter.reset();
+        service.getProductById(id);
+        assertEquals(0, StatementCounter.total());
+    }
+
+    /**
+     * Testing that a search without matches in the index sends nothing.
+     */
+    @Test
+    void shouldNotQuery_whenSearchHasNoMatches() {
+
+        StatementCounter.reset();
+        assertTrue(service.getProductsContaining(new ProductRequestDTO("No Such Product")).isEmpty());
+        assertEquals(0, StatementCounter.total());
+    }
+
+    /**
+     * Testing that a create is one insert without a re-select, and an update of a product in the second-level cache is
+     * one update.
+     */
+    @Test
+    void shouldWriteWithoutExtraQueries_whenCreatingAndUpdating() {
+
+        StatementCounter.reset();
+        ProductResponseDTO created = create("Count Write DVD");
+        assertEquals(1, StatementCounter.inserts());
+        assertEquals(1, StatementCounter.total());
+
+        StatementCounter.reset();
+        service.updateProduct(created.id(), new ProductRestRequestDTO("Count Write DVD", "Updated",
+                new BigDecimal("21.99")), created.version());
+        assertEquals(0, StatementCounter.selects());
+        assertEquals(1, StatementCounter.updates());
+        assertEquals(1, StatementCounter.total());
+    }
+
+    /**
+     * Testing that deleting a product sends only its DELETE even when it is not in the second-level cache, and that a
+     * missing product is answered from the row count of the same single DELETE.
+     */
+    @Test
+    void shouldDeleteWithOneStatement_whenDeletingById() {
+
+        // Arranging the test data, the product is evicted so nothing can be answered from the cache
+        Long id = create("Count Delete DVD").id();
+        secondLevelCache.evict(Product.class);
+
+        // Existing product -> one DELETE, no SELECT
+        StatementCounter.reset();
+        assertTrue(service.deleteProductFromRequest(id));
+        assertEquals(1, StatementCounter.deletes());
+        assertEquals(1, StatementCounter.total());
+
+        // Missing product -> the same single DELETE, which deletes no row
+        StatementCounter.reset();
+        assertFalse(service.deleteProductFromRequest(id));
+        assertEquals(1, StatementCounter.deletes());
+        assertEquals(1, StatementCounter.total());
+    }
+
+    /**
+     * Testing that batch writes send a fixed number of statements per chunk of 50, independent of the item count:
+     * one insert batch per created chunk, one select and one update batch per updated chunk, one delete batch per
+     * deleted chunk even with a cold second-level cache.
+     */
+    @Test
+    void shouldSendStatementsPerChunk_whenWritingBatches() {
+
+        // Arranging the test data, 120 products span three chunks
+        List<ProductRestRequestDTO> requests = IntStream.range(0, 120)
+                .mapToObj(i -> new ProductRestRequestDTO("Count Batch " + i, "Batch", new BigDecimal("19.99")))
+                .toList();
+
+        StatementCounter.reset();
+        List<ProductBatchResultDTO> created = service.createProductsFromRequest(requests);
+        assertEquals(3, StatementCounter.inserts());
+        assertEquals(3, StatementCounter.total());
+
+        List<Long> ids = created.stream().map(ProductBatchResultDTO::id).toList();
+
+        StatementCounter.reset();
+        service.updateProducts(ids.stream()
+                .map(id -> new ProductBatchUpdateDTO.Item(id, new ProductRestRequestDTO("Count Batch Updated " + id,
+                        "Batch", new BigDecimal("21.99"))))
+                .toList());
+        assertEquals(3, StatementCounter.selects());
+        assertEquals(3, StatementCounter.updates());
+        assertEquals(6, StatementCounter.total());
+
+        secondLevelCache.evict(Product.class);
+        StatementCounter.reset();
+        service.deleteProducts(ids);
+        assertEquals(3, StatementCounter.deletes());
+        assertEquals(3, StatementCounter.total());
+    }
+
+    private ProductResponseDTO create(String productName) {
+        return service.createProductFromRequest(new ProductRestRequestDTO(productName, "Statement count",
+                new BigDecimal("19.99")));
+    }
+}
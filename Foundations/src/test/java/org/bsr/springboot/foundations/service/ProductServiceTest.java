@@ -9,37 +9,64 @@
 
 package org.bsr.springboot.foundations.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.bsr.springboot.foundations.cache.ProductResponseCache;
 import org.bsr.springboot.foundations.persistence.entity.Product;
 import org.bsr.springboot.foundations.persistence.repository.ProductRepository;
+import org.bsr.springboot.foundations.presentation.dto.ProductPageDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductRequestDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductResponseDTO;
 import org.bsr.springboot.foundations.presentation.dto.ProductRestRequestDTO;
 import org.bsr.springboot.foundations.presentation.mapper.ProductMapper;
+import org.bsr.springboot.foundations.search.ProductSearchIndex;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("test")
 @ExtendWith(MockitoExtension.class) // Pure Java unit test, doesnt load Spring
 public class ProductServiceTest {
 
-    // Mocks Dependencies for ProductRepository and ProductMapper
+    // Mocks Dependencies for ProductRepository, ProductMapper, EntityManager, ProductSearchIndex and
+    // ApplicationEventPublisher, the ProductResponseCache is a real, empty cache
     @Mock
     ProductRepository repository;
     @Mock
     ProductMapper mapper;
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    ProductSearchIndex searchIndex;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Spy
+    ProductResponseCache productCache = new ProductResponseCache(new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(10));
 
     @InjectMocks
     ProductService service;
@@ -85,6 +112,40 @@ public class ProductServiceTest {
     }
 
 
+    /**
+     * Testing service logic for getProductsContaining once the search index is ready. Verify that the index is
+     * searched with the trimmed term, only the matching ids are loaded and the LIKE query is not used.
+     *
+     */
+    @Test
+    void shouldSearchIndex_whenIndexIsReady() {
+
+        // Arranging the test data
+        ProductRequestDTO request = new ProductRequestDTO("  dvd  ");
+
+        Product entity = new Product();
+        entity.setProductName("Comedy DVD");
+
+        ProductResponseDTO testProduct = new ProductResponseDTO(1L, "Comedy DVD", "Funny",
+                new BigDecimal("10.69"));
+
+        // The mock behavior -> index is ready and returns the id of the matching product
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("dvd")).thenReturn(List.of(1L));
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.findMultiple(Product.class, List.of(1L))).thenReturn(List.of(entity));
+        when(mapper.toResponseDto(entity)).thenReturn(testProduct);
+
+        // Calls the service method under test
+        List<ProductResponseDTO> results = service.getProductsContaining(request);
+
+        // Verify the service returns the mapped DTO list without running the LIKE query
+        assertEquals(1, results.size());
+        assertEquals("Comedy DVD", results.getFirst().productName());
+        verify(repository, never()).findAllByProductNameContainingIgnoreCase("dvd");
+    }
+
     /**
      * Testing service logic for getAllProducts. Verify that getAllProducts calls the repository correctly, maps the
      * results, and returns the mapped list for all test products.
@@ -137,6 +198,75 @@ public class ProductServiceTest {
 
     }
 
+    /**
+     * Testing service logic for getProductPage. Verify that one extra row is requested to detect the next page, the
+     * page is trimmed to the limit and the next cursor decodes back to the id of the last product on the page.
+     *
+     */
+    @Test
+    void shouldReturnPageWithNextCursor_whenMoreProductsExist() {
+
+        // Arranging the test data
+        Product entity1 = new Product();
+        Product entity2 = new Product();
+        Product entity3 = new Product();
+
+        ProductResponseDTO testProduct1 = new ProductResponseDTO(1L, "Comedy DVD", "Funny",
+                new BigDecimal("10.69"));
+        ProductResponseDTO testProduct2 = new ProductResponseDTO(2L, "Action DVD",
+                "Action packed", new BigDecimal("10.69"));
+
+        // The mock behavior -> repository returns limit + 1 rows after the decoded cursor id
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(entity1, entity2,
+                entity3));
+        when(mapper.toResponseDto(entity1)).thenReturn(testProduct1);
+        when(mapper.toResponseDto(entity2)).thenReturn(testProduct2);
+
+        // Calls the service method under test
+        ProductPageDTO page = service.getProductPage(null, 2);
+
+        // Verify only the requested number of products is returned and the cursor points at the last one
+        assertEquals(2, page.products().size());
+        assertEquals(2L, ProductCursor.decode(page.nextCursor()));
+    }
+
+    /**
+     * Testing service logic for getProductPage. Verify that the cursor is decoded into the keyset id and that the last
+     * page has no next cursor.
+     *
+     */
+    @Test
+    void shouldReturnLastPageWithoutCursor_whenNoMoreProductsExist() {
+
+        // Arranging the test data
+        Product entity = new Product();
+        ProductResponseDTO testProduct = new ProductResponseDTO(3L, "Comedy DVD", "Funny",
+                new BigDecimal("10.69"));
+
+        // The mock behavior -> repository returns fewer rows than the limit after id 2
+        when(repository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(List.of(entity));
+        when(mapper.toResponseDto(entity)).thenReturn(testProduct);
+
+        // Calls the service method under test
+        ProductPageDTO page = service.getProductPage(ProductCursor.encode(2L), 2);
+
+        // Verify the last page is returned without a next cursor
+        assertEquals(1, page.products().size());
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Testing service logic for getProductPage. Verify that an out of range limit and a tampered cursor are rejected
+     * as IllegalArgumentException.
+     *
+     */
+    @Test
+    void shouldThrowException_whenPageRequestIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> service.getProductPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.getProductPage(null, 501));
+        assertThrows(IllegalArgumentException.class, () -> service.getProductPage("not-a-cursor", 10));
+    }
+
     /**
      * Testing service logic for getProductById. Verify that getProductById calls the repository correctly, maps the
      * result, and returns the mapped ProductResponseDTO for the test product.
@@ -282,8 +412,8 @@ public class ProductServiceTest {
 
 
     /**
-     * Testing service logic for deleteProductFromRequest. Verifies that the service checks existence
-     * and performs a delete operation when the product is found.
+     * Testing service logic for deleteProductFromRequest. Verifies that the service deletes by id without loading the
+     * product and reports success from the deleted row count.
      */
     @Test
     void shouldDeleteProduct_whenProductIsFound() {
@@ -291,14 +421,8 @@ public class ProductServiceTest {
         // Arranging the test data
         Long id = 1L;
 
-        // Existing product in DB
-        Product existing = new Product();
-        existing.setProductName("Comedy DVD");
-        existing.setProductDesc("Funny");
-        existing.setRetailPrice(new BigDecimal("10.69"));
-
-        // The mock behavior -> repository find
-        when(repository.existsById(id)).thenReturn(true);
+        // The mock behavior -> the delete removes one row
+        when(repository.deleteRowsById(List.of(id))).thenReturn(new int[] {1});
 
         // Calls the service method under test
         boolean result = service.deleteProductFromRequest(id);
@@ -307,8 +431,24 @@ public class ProductServiceTest {
         assertTrue(result);
 
         // Verify repository methods were called
-        verify(repository).existsById(id);
-        verify(repository).deleteById(id);
+        verify(repository, never()).findById(id);
+        verify(repository, never()).existsById(id);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(id));
+
+    }
+
+    /**
+     * Testing service logic for deleteProductFromRequest. Verifies that a delete that removes no row is reported as
+     * not found and no change event is published.
+     */
+    @Test
+    void shouldNotDeleteProduct_whenProductIsNotFound() {
+
+        // The mock behavior -> no row deleted
+        when(repository.deleteRowsById(List.of(2L))).thenReturn(new int[] {0});
 
+        // Calls the service method under test and asserts the not found result
+        assertFalse(service.deleteProductFromRequest(2L));
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -0,0 +1,66 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The ProductTableVersionCounterTest class unit tests the in-memory version of the product table. Ensures
+ *              every product change and the startup writes move the version and that two application starts never
+ *              share a version, without loading the Spring application context.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ProductTableVersionCounterTest {
+
+    /**
+     * Testing that saves, deletes and the end of startup each increment the version within the same epoch.
+     */
+    @Test
+    void shouldIncrementVersion_whenProductsChange() {
+        ProductTableVersionCounter counter = new ProductTableVersionCounter();
+        ProductTableVersion initial = counter.current();
+
+        counter.onApplicationReady();
+        counter.onProductChanged(ProductChangedEvent.saved(1L, "Version DVD"));
+        counter.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        ProductTableVersion current = counter.current();
+        assertEquals(initial.epoch(), current.epoch());
+        assertEquals(initial.version() + 3, current.version());
+    }
+
+    /**
+     * Testing that a change moves the version once before its commit, so readers of the old rows during the commit
+     * get a version of their own, and once more after it for the new rows.
+     */
+    @Test
+    void shouldIncrementVersionBeforeAndAfterCommit_whenProductChanges() {
+        ProductTableVersionCounter counter = new ProductTableVersionCounter();
+        ProductTableVersion beforeChange = counter.current();
+
+        counter.onProductCommitting(ProductChangedEvent.saved(1L, "Version DVD"));
+        ProductTableVersion duringCommit = counter.current();
+        counter.onProductChanged(ProductChangedEvent.saved(1L, "Version DVD"));
+        ProductTableVersion afterCommit = counter.current();
+
+        assertNotEquals(beforeChange, duringCommit);
+        assertNotEquals(duringCommit, afterCommit);
+        assertNotEquals(beforeChange, afterCommit);
+    }
+
+    /**
+     * Testing that a restarted application, which counts from zero again, does not repeat the previous versions.
+     */
+    @Test
+    void shouldNotRepeatVersion_whenApplicationRestarts() {
+        ProductTableVersion beforeRestart = new ProductTableVersionCounter().current();
+        ProductTableVersion afterRestart = new ProductTableVersionCounter().current();
+
+        assertEquals(beforeRestart.version(), afterRestart.version());
+        assertNotEquals(beforeRestart, afterRestart);
+    }
+}
@@ -0,0 +1,79 @@
+/***********************************************************************************************************************
+ * Project: Core Spring Boot Foundations - Phase 1
+ * Description: The StatementCounter is a datasource-proxy listener that records the SQL of every statement executed on
+ *              the current thread, so a test can reset it, make one call and assert exactly which statements the call
+ *              sent. A JDBC batch is one execution and is recorded once. Sequence fetches are kept out of the counts
+ *              because the pooled id allocation makes them depend on how many ids earlier tests used.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/26
+ * */
+
+package org.bsr.springboot.foundations.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class StatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Forgets the statements recorded on the current thread.
+     * */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Returns the lower cased SQL of the statements recorded on the current thread since the last reset, in order,
+     * without sequence fetches.
+     * */
+    public static List<String> statements() {
+        return STATEMENTS.get().stream()
+                .filter(sql -> !sql.contains("next value for"))
+                .toList();
+    }
+
+    /**
+     * Returns the number of statements recorded since the last reset, without sequence fetches.
+     * */
+    public static int total() {
+        return statements().size();
+    }
+
+    public static int selects() {
+        return count("select");
+    }
+
+    public static int inserts() {
+        return count("insert");
+    }
+
+    public static int updates() {
+        return count("update");
+    }
+
+    public static int deletes() {
+        return count("delete");
+    }
+
+    private static int count(String keyword) {
+        return (int) statements().stream().filter(sql -> sql.startsWith(keyword)).count();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            STATEMENTS.get().add(queryInfo.getQuery().strip().toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -9,6 +9,7 @@
 
 package org.bsr.springboot.practice.consumesrestfulweb;
 
+import org.bsr.springboot.practice.consumesrestfulweb.client.QuoteClient;
 import org.bsr.springboot.practice.consumesrestfulweb.domain.Quote;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +18,6 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
-import org.springframework.web.client.RestClient;
 
 import java.util.Objects;
 
@@ -33,16 +33,15 @@ public class ConsumesRestfulWebApplication {
 
 
     /**
-     * ApplicationRunner is a functional interface that runs after the application context is initialized. Uses Spring’s
-     * RestClient.Builder to create a RestClient with a base URL pointing to the local server to make HTTP requests.
-     * The lambda args -> executes at startup and calls the rest client, deserializes the response body into a Quote
+     * ApplicationRunner is a functional interface that runs after the application context is initialized. Uses the
+     * QuoteClient, which wraps a RestClient with a base URL pointing to the local server, to make HTTP requests.
+     * The lambda args -> executes at startup and calls the quote client, deserializes the response body into a Quote
      * object, and logs the quote using a static logger*/
     @Bean
     @Profile("!test") // --> Ensures does not run during tests
-    public ApplicationRunner run(RestClient.Builder builder) {
-        RestClient restClient = builder.baseUrl("https://localhost:8080").build();
+    public ApplicationRunner run(QuoteClient quoteClient) {
         return args -> {
-            Quote quote = restClient.get().uri("/api/random").retrieve().body(Quote.class);
+            Quote quote = quoteClient.randomQuote();
             LOGGER.info(Objects.requireNonNull(quote).toString());
         };
     }
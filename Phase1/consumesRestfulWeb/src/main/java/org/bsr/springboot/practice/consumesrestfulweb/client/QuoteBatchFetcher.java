@@ -0,0 +1,122 @@
+/******************************************************************************
+ * Project: SpringBoot RestAPI Guide Series
+ * Description: Fetches a batch of random quotes concurrently through the
+ *              QuoteClient, one virtual thread per call with a bounded number
+ *              of calls in flight. Quotes are handed out as they arrive and a
+ *              quote the batch has already seen is dropped.
+
+ * Author: Benjamin Soto-Roberts
+ * Created: 2026-10-17
+ ******************************************************************************/
+
+package org.bsr.springboot.practice.consumesrestfulweb.client;
+
+import org.bsr.springboot.practice.consumesrestfulweb.domain.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+@Component
+public class QuoteBatchFetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuoteBatchFetcher.class);
+
+    private final QuoteClient quoteClient;
+    private final Semaphore inFlight;
+
+    /**
+     * The in-flight limit is shared by every batch, so concurrent batches together never send more than maxInFlight
+     * calls to the quote service at once.*/
+    public QuoteBatchFetcher(QuoteClient quoteClient,
+                             @Value("${quote.client.batch.max-in-flight:16}") int maxInFlight) {
+        this.quoteClient = quoteClient;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Fetches count random quotes and returns the distinct ones, in the order they arrived.
+     * */
+    public List<Quote> randomQuotes(int count) {
+        return randomQuotes(count, quote -> {});
+    }
+
+    /**
+     * Fetches count random quotes, each on its own virtual thread, and passes every quote with an id not seen before in
+     * this batch to onQuote as soon as it arrives. onQuote runs on the calling thread, one quote at a time. A failed
+     * call is logged and skipped, the batch only fails when every call failed. Returns the distinct quotes in the order
+     * they arrived.*/
+    public List<Quote> randomQuotes(int count, Consumer<Quote> onQuote) {
+        List<Quote> quotes = new ArrayList<>(count);
+        Set<Long> seenIds = new HashSet<>();
+        RuntimeException failure = null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Quote> completed = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < count; i++) {
+                completed.submit(this::fetchWithinLimit);
+            }
+
+            for (int i = 0; i < count; i++) {
+                Future<Quote> result = takeOrCancel(completed, executor);
+                try {
+                    Quote quote = result.get();
+                    if (quote != null && quote.value() != null && seenIds.add(quote.value().id())) {
+                        quotes.add(quote);
+                        onQuote.accept(quote);
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Quote fetch failed: {}", e.getCause().toString());
+                    if (failure == null && e.getCause() instanceof RuntimeException cause) {
+                        failure = cause;
+                    }
+                } catch (InterruptedException e) {
+                    // The future is already complete, get() cannot block
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        if (quotes.isEmpty() && failure != null) {
+            throw failure;
+        }
+        return quotes;
+    }
+
+    /**
+     * Waits for a permit before calling the quote service, the virtual thread parks while it waits.*/
+    private Quote fetchWithinLimit() throws InterruptedException {
+        inFlight.acquire();
+        try {
+            return quoteClient.randomQuote();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Takes the next completed call. When the caller is interrupted the calls still running are interrupted too, so
+     * the batch does not outlive its caller.*/
+    private static Future<Quote> takeOrCancel(CompletionService<Quote> completed, ExecutorService executor) {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching quotes", e);
+        }
+    }
+}
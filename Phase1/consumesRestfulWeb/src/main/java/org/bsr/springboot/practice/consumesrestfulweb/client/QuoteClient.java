@@ -0,0 +1,70 @@
+/******************************************************************************
+ * Project: SpringBoot RestAPI Guide Series
+ * Description: A client for the quote service that asks for CBOR and falls
+ *              back to JSON when the service cannot produce it. Calls are
+ *              retried on transient failures and stop being sent while the
+ *              circuit breaker is open.
+
+ * Author: Benjamin Soto-Roberts
+ * Created: 2026-10-17
+ ******************************************************************************/
+
+package org.bsr.springboot.practice.consumesrestfulweb.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.bsr.springboot.practice.consumesrestfulweb.domain.Quote;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.function.Supplier;
+
+@Component
+public class QuoteClient {
+
+    // CBOR is preferred because it is smaller on the wire, JSON is accepted from services that only speak JSON
+    static final String ACCEPT = "application/cbor, application/json;q=0.9";
+
+    private final RestClient restClient;
+    private final RetryTemplate retryTemplate;
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Builds the RestClient from Spring's RestClient.Builder, which registers a CBOR message converter next to the
+     * JSON one whenever jackson-dataformat-cbor is on the classpath, so either response format is decoded. The builder
+     * also carries the tuned request factory of the QuoteClientConfig.*/
+    public QuoteClient(RestClient.Builder builder,
+                       RetryTemplate quoteRetryTemplate,
+                       CircuitBreaker quoteCircuitBreaker,
+                       @Value("${quote.service.base-url:https://localhost:8080}") String baseUrl) {
+        this.restClient = builder
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.ACCEPT, ACCEPT)
+                .build();
+        this.retryTemplate = quoteRetryTemplate;
+        this.circuitBreaker = quoteCircuitBreaker;
+    }
+
+    /**
+     * Fetches a random quote from the quote service.*/
+    public Quote randomQuote() {
+        return call(() -> restClient.get().uri("/api/random").retrieve().body(Quote.class));
+    }
+
+    /**
+     * Runs every attempt through the circuit breaker so each one is counted, and retries around it. A call rejected by
+     * the open breaker is not retried. The failure of the last attempt is rethrown as is.*/
+    private <T> T call(Supplier<T> request) {
+        try {
+            return retryTemplate.execute(() -> circuitBreaker.executeSupplier(request));
+        } catch (RetryException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/******************************************************************************
+ * Project: SpringBoot RestAPI Guide Series
+ * Description: Tunes the HTTP client behind the QuoteClient and provides the
+ *              retry and circuit breaker policies that guard its calls.
+
+ * Author: Benjamin Soto-Roberts
+ * Created: 2026-10-17
+ ******************************************************************************/
+
+package org.bsr.springboot.practice.consumesrestfulweb.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.http.client.JdkClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.autoconfigure.ClientHttpRequestFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class QuoteClientConfig {
+
+    /**
+     * The JDK HttpClient keeps connections alive and reuses them across requests. It is asked for HTTP/2 explicitly,
+     * over TLS it is negotiated with ALPN and over plain HTTP the client falls back to HTTP/1.1 keep-alive when the
+     * server does not upgrade. The connect and read timeouts come from the spring.http.clients properties.*/
+    @Bean
+    public ClientHttpRequestFactoryBuilderCustomizer<JdkClientHttpRequestFactoryBuilder> http2RequestFactory() {
+        return builder -> builder.withHttpClientCustomizer(httpClient -> httpClient.version(HttpClient.Version.HTTP_2));
+    }
+
+    /**
+     * Retries the failures that are likely to pass on the next attempt, with an exponential backoff that is jittered
+     * so many clients failing at once do not retry in lockstep. Only used for idempotent GET requests.*/
+    @Bean
+    public RetryTemplate quoteRetryTemplate(
+            @Value("${quote.client.retry.max-retries:3}") long maxRetries,
+            @Value("${quote.client.retry.delay:100ms}") Duration delay,
+            @Value("${quote.client.retry.jitter:50ms}") Duration jitter,
+            @Value("${quote.client.retry.max-delay:1s}") Duration maxDelay) {
+        return new RetryTemplate(RetryPolicy.builder()
+                .maxRetries(maxRetries)
+                .delay(delay)
+                .jitter(jitter)
+                .multiplier(2)
+                .maxDelay(maxDelay)
+                .predicate(QuoteClientConfig::isTransient)
+                .build());
+    }
+
+    /**
+     * Opens once the failure rate over the last calls reaches the threshold, then rejects calls without sending them
+     * until the open duration has passed and a few trial calls succeed. Only transient failures count, a 4xx is the
+     * caller's fault and says nothing about the health of the service.*/
+    @Bean
+    public CircuitBreaker quoteCircuitBreaker(
+            @Value("${quote.client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${quote.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${quote.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${quote.client.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        return CircuitBreaker.of("quoteService", CircuitBreakerConfig.custom()
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordException(QuoteClientConfig::isTransient)
+                .build());
+    }
+
+    /**
+     * Connection failures and timeouts, 502, 503 and 504 responses and 429 Too Many Requests.*/
+    static boolean isTransient(Throwable failure) {
+        if (failure instanceof ResourceAccessException) {
+            return true;
+        }
+        if (failure instanceof HttpServerErrorException serverError) {
+            return serverError.getStatusCode().isSameCodeAs(HttpStatus.BAD_GATEWAY)
+                    || serverError.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                    || serverError.getStatusCode().isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT);
+        }
+        return failure instanceof HttpClientErrorException.TooManyRequests;
+    }
+}
@@ -0,0 +1,166 @@
+/******************************************************************************
+ * Project: SpringBoot RestAPI Guide Series
+ * Description: Drives a local stub of the quote service with concurrent
+ *              clients, first through a RestClient built the way the
+ *              application used to build it and then through the tuned
+ *              QuoteClient. Runs once against a healthy stub and once against
+ *              a stub that answers every Nth request with 503, and prints the
+ *              calls per second, the p50 and p99 latency and the share of
+ *              calls that returned a quote.
+ *              Run with: ./mvnw -Pload-test test-compile exec:exec
+ *              [-Dload.concurrency=32 -Dload.calls=20000]
+
+ * Author: Benjamin Soto-Roberts
+ * Created: 2026-10-17
+ ******************************************************************************/
+
+package org.bsr.springboot.practice.consumesrestfulweb.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.bsr.springboot.practice.consumesrestfulweb.ConsumesRestfulWebApplication;
+import org.bsr.springboot.practice.consumesrestfulweb.client.QuoteClient;
+import org.bsr.springboot.practice.consumesrestfulweb.domain.Quote;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public final class QuoteClientLoadHarness {
+
+    private static final byte[] QUOTE_JSON = """
+            {"type":"success","value":{"id":7,"quote":"Working with Spring Boot is like pair-programming with the Spring developers."}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final int CALLS = Integer.getInteger("load.calls", 20_000);
+    private static final int WARMUP_CALLS = Integer.getInteger("load.warmup-calls", 2_000);
+    private static final int LATENCY_MS = Integer.getInteger("load.latency-ms", 5);
+    private static final int FAILURE_EVERY = Integer.getInteger("load.failure-every", 10);
+
+    private QuoteClientLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("concurrency=%d calls=%d latency=%dms failure-every=%d%n",
+                CONCURRENCY, CALLS, LATENCY_MS, FAILURE_EVERY);
+        System.out.printf("%-8s %-9s %12s %10s %10s %10s%n", "stub", "client", "calls/s", "p50 ms", "p99 ms",
+                "success %");
+        run("healthy", 0);
+        run("flaky", FAILURE_EVERY);
+    }
+
+    /**
+     * Starts the stub, then measures the old and the tuned client against it.
+     * */
+    private static void run(String stub, int failureEvery) throws Exception {
+        HttpServer server = startStub(failureEvery);
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ConsumesRestfulWebApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--quote.service.base-url=" + baseUrl, "--logging.level.root=WARN")) {
+
+            RestClient baseline = RestClient.builder()
+                    .requestFactory(new JdkClientHttpRequestFactory())
+                    .baseUrl(baseUrl)
+                    .build();
+            Supplier<Quote> baselineCall = () -> baseline.get().uri("/api/random").retrieve().body(Quote.class);
+            QuoteClient quoteClient = context.getBean(QuoteClient.class);
+
+            measure(stub, "baseline", baselineCall);
+            measure(stub, "tuned", quoteClient::randomQuote);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void measure(String stub, String client, Supplier<Quote> call) {
+        load(call, WARMUP_CALLS);
+        LoadResult result = load(call, CALLS);
+        System.out.printf(Locale.ROOT, "%-8s %-9s %12.0f %10.2f %10.2f %10.2f%n", stub, client, result.throughput(),
+                result.percentileMillis(50), result.percentileMillis(99), result.successRate());
+    }
+
+    /**
+     * A stub of /api/random that answers after LATENCY_MS, with a 503 for every failureEvery-th request when it is
+     * above zero.
+     * */
+    private static HttpServer startStub(int failureEvery) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        AtomicInteger requests = new AtomicInteger();
+        server.createContext("/api/random", exchange -> {
+            try (exchange; OutputStream body = exchange.getResponseBody()) {
+                Thread.sleep(LATENCY_MS);
+                if (failureEvery > 0 && requests.incrementAndGet() % failureEvery == 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, QUOTE_JSON.length);
+                body.write(QUOTE_JSON);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    /**
+     * Makes calls with CONCURRENCY threads and records the latency of each.
+     * */
+    private static LoadResult load(Supplier<Quote> call, int calls) {
+        long[] latencies = new long[calls];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int t = 0; t < CONCURRENCY; t++) {
+                executor.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < calls; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            call.get();
+                        } catch (RuntimeException ex) {
+                            failures.incrementAndGet();
+                        } finally {
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadResult(latencies, elapsed, failures.get());
+    }
+
+    private record LoadResult(long[] sortedLatencies, long elapsedNanos, int failures) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+
+        double successRate() {
+            return 100.0 * (sortedLatencies.length - failures) / sortedLatencies.length;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.bsr.springboot.practice.consumesrestfulweb.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.bsr.springboot.practice.consumesrestfulweb.domain.Quote;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteBatchFetcherTests {
+
+    private static final int LATENCY_MS = 50;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void dropsDuplicateQuotes_whenServiceRepeatsIds() {
+        // The n-th request answers with quote id n % 5, so 20 calls see every id four times
+        QuoteBatchFetcher fetcher = fetcher(n -> n % 5, 8);
+
+        List<Quote> quotes = fetcher.randomQuotes(20);
+
+        assertEquals(20, requests.get());
+        assertEquals(5, quotes.size());
+        assertEquals(5, quotes.stream().map(quote -> quote.value().id()).distinct().count());
+    }
+
+    @Test
+    void keepsCallsInFlightWithinLimit() {
+        QuoteBatchFetcher fetcher = fetcher(n -> n, 4);
+
+        long start = System.nanoTime();
+        List<Quote> quotes = fetcher.randomQuotes(20);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(20, quotes.size());
+        assertTrue(maxInFlight.get() <= 4, "at most 4 calls in flight, saw " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "calls overlap");
+        // One call after the other would take 20 x 50ms
+        assertTrue(elapsedMs < 20 * LATENCY_MS, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void deliversQuotesAsTheyArrive() {
+        // The first request is held back for ten times the latency, every other quote overtakes it
+        QuoteBatchFetcher fetcher = fetcher(n -> n, 4, n -> n == 1 ? 10 * LATENCY_MS : LATENCY_MS);
+        List<Long> delivered = new ArrayList<>();
+
+        fetcher.randomQuotes(6, quote -> delivered.add(quote.value().id()));
+
+        assertEquals(6, delivered.size());
+        assertEquals(1L, delivered.getLast());
+    }
+
+    @Test
+    void skipsFailedCalls_andFailsOnlyWhenEveryCallFailed() {
+        // Ids below 0 are answered with 503
+        QuoteBatchFetcher partlyFailing = fetcher(n -> n % 2 == 0 ? -1 : n, 4);
+        assertEquals(5, partlyFailing.randomQuotes(10).size());
+        stopServer();
+
+        QuoteBatchFetcher failing = fetcher(n -> -1, 4);
+        assertThrows(HttpServerErrorException.ServiceUnavailable.class, () -> failing.randomQuotes(4));
+    }
+
+    private QuoteBatchFetcher fetcher(IntUnaryOperator idForRequest, int maxInFlight) {
+        return fetcher(idForRequest, maxInFlight, n -> LATENCY_MS);
+    }
+
+    /**
+     * Starts a stand-in for the quote service on a free port. The n-th request, counting from 1, waits
+     * latencyForRequest milliseconds and answers with quote id idForRequest, or with 503 when the id is negative.
+     * Retries are off so every call is one request.
+     */
+    private QuoteBatchFetcher fetcher(IntUnaryOperator idForRequest, int maxInFlight,
+                                      IntUnaryOperator latencyForRequest) {
+        requests.set(0);
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        server.createContext("/api/random", exchange -> {
+            int n = requests.incrementAndGet();
+            this.maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try (exchange; OutputStream body = exchange.getResponseBody()) {
+                Thread.sleep(latencyForRequest.applyAsInt(n));
+                int id = idForRequest.applyAsInt(n);
+                if (id < 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                byte[] json = ("{\"type\":\"success\",\"value\":{\"id\":" + id + ",\"quote\":\"Quote " + id + "\"}}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, json.length);
+                body.write(json);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        QuoteClient quoteClient = new QuoteClient(RestClient.builder(),
+                new RetryTemplate(RetryPolicy.withMaxRetries(0)),
+                CircuitBreaker.ofDefaults("quoteBatchFetcherTests"),
+                "http://localhost:" + server.getAddress().getPort());
+        return new QuoteBatchFetcher(quoteClient, maxInFlight);
+    }
+}
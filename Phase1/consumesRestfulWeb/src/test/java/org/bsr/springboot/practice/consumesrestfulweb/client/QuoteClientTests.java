@@ -0,0 +1,111 @@
+package org.bsr.springboot.practice.consumesrestfulweb.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.bsr.springboot.practice.consumesrestfulweb.domain.Quote;
+import org.bsr.springboot.practice.consumesrestfulweb.domain.Value;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.test.autoconfigure.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServiceUnavailable;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(value = QuoteClient.class, properties = {
+        "quote.client.retry.max-retries=1",
+        "quote.client.retry.delay=1ms",
+        "quote.client.retry.jitter=1ms",
+        "quote.client.circuit-breaker.sliding-window-size=4",
+        "quote.client.circuit-breaker.minimum-calls=4"
+})
+@Import(QuoteClientConfig.class)
+@ActiveProfiles("test")
+class QuoteClientTests {
+
+    private static final String RANDOM_QUOTE_URL = "https://localhost:8080/api/random";
+    private static final String QUOTE_JSON = """
+            {"type":"success","value":{"id":7,"quote":"Working with Spring Boot is like pair-programming with the Spring developers."}}
+            """;
+
+    private static final Quote QUOTE = new Quote("success", new Value(7L, "Working with Spring Boot is like pair-programming with the Spring developers."));
+
+    @Autowired
+    private QuoteClient quoteClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Autowired
+    private CircuitBreaker quoteCircuitBreaker;
+
+    @BeforeEach
+    void closeCircuitBreaker() {
+        quoteCircuitBreaker.reset();
+    }
+
+    @Test
+    void decodesCbor_whenServiceAnswersWithCbor() {
+        byte[] body = CBORMapper.builder().build().writeValueAsBytes(QUOTE);
+        server.expect(requestTo(RANDOM_QUOTE_URL))
+                .andExpect(header(HttpHeaders.ACCEPT, QuoteClient.ACCEPT))
+                .andRespond(withSuccess(body, MediaType.parseMediaType("application/cbor")));
+
+        assertEquals(QUOTE, quoteClient.randomQuote());
+        server.verify();
+    }
+
+    @Test
+    void decodesJson_whenServiceOnlySpeaksJson() {
+        server.expect(requestTo(RANDOM_QUOTE_URL))
+                .andRespond(withSuccess(QUOTE_JSON, MediaType.APPLICATION_JSON));
+
+        assertEquals(QUOTE, quoteClient.randomQuote());
+        server.verify();
+    }
+
+    @Test
+    void retries_whenServiceIsTemporarilyUnavailable() {
+        server.expect(once(), requestTo(RANDOM_QUOTE_URL)).andRespond(withServiceUnavailable());
+        server.expect(once(), requestTo(RANDOM_QUOTE_URL))
+                .andRespond(withSuccess(QUOTE_JSON, MediaType.APPLICATION_JSON));
+
+        assertEquals(QUOTE, quoteClient.randomQuote());
+        server.verify();
+    }
+
+    @Test
+    void doesNotRetry_whenRequestIsRejected() {
+        server.expect(once(), requestTo(RANDOM_QUOTE_URL)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThrows(HttpClientErrorException.NotFound.class, quoteClient::randomQuote);
+        server.verify();
+    }
+
+    @Test
+    void stopsSendingRequests_whenCircuitIsOpen() {
+        // Two calls of two attempts each fill the window of four with failures and open the circuit
+        server.expect(times(4), requestTo(RANDOM_QUOTE_URL)).andRespond(withServiceUnavailable());
+
+        assertThrows(HttpServerErrorException.ServiceUnavailable.class, quoteClient::randomQuote);
+        assertThrows(HttpServerErrorException.ServiceUnavailable.class, quoteClient::randomQuote);
+        assertThrows(CallNotPermittedException.class, quoteClient::randomQuote);
+        server.verify();
+    }
+}
@@ -2,20 +2,23 @@
  * Project: JDBCTemplate Practice
  * Description: Entry point and primary configuration source for the application. The application is a simple practice
  *              project that implements a repository layer without the assistance of an orm for educational/learning
- *              purposes.
+ *              purposes. On startup the product catalog is listed from the summary (list view) query.
  * Author: Benjamin Soto-Roberts
  * Created: 03/03/2026
  */
 
 package jdbctemplatepractice;
 
+import jdbctemplatepractice.product.ProductRepository;
+import jdbctemplatepractice.product.ProductSummaryDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
 
 
 @SpringBootApplication
@@ -30,10 +33,20 @@ public class JdbcBootApplication {
     }
 
 
+    /**
+     * Lists the product catalog on startup. Uses the list view, which reads only the uuid, name and retail price of
+     * each product. The count is logged at info, the products themselves only at debug
+     * */
     @Bean
-    public CommandLineRunner commandLineRunner(JdbcTemplate jdbcTemplate) {
-        String query = "SELECT count(*) FROM PRODUCTS";
-        return args -> logger.error("Hello there are " + jdbcTemplate.queryForObject(query, Long.class) + " accounts");
+    public CommandLineRunner commandLineRunner(ProductRepository productRepository) {
+        return args -> {
+            List<ProductSummaryDTO> products = productRepository.getProductSummaries();
+            logger.info("There are {} products in the catalog", products.size());
+            if (logger.isDebugEnabled()) {
+                products.forEach(product -> logger.debug("{} | {} | {}", product.uuid(), product.productName(),
+                        product.retailPrice()));
+            }
+        };
     }
 
 }
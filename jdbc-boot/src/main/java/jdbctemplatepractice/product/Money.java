@@ -0,0 +1,71 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: A fixed-point money amount held as a whole number of cents in a long. Products keep their prices as
+ *              Money so copying and comparing them is plain long arithmetic, BigDecimal is only created when a price is
+ *              bound to or read from a NUMERIC(7,2) column.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+    private static final int SCALE = 2;
+
+    /**
+     * Creates an amount from a whole number of cents
+     * */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a decimal, rounded to 2 decimal places with the given rounding mode. Throws
+     * ArithmeticException if the rounded amount does not fit in a long
+     * */
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        return ofCents(amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Returns this amount minus the other. Throws ArithmeticException on overflow
+     * */
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Returns the amount as a BigDecimal with a scale of 2, the representation of the NUMERIC(7,2) columns
+     * */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Returns the amount with exactly 2 decimal places, e.g. 19.99 or -1.50
+     * */
+    @Override
+    public String toString() {
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        StringBuilder builder = new StringBuilder(24);
+        if (cents < 0) {
+            builder.append('-');
+        }
+        builder.append(units).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+}
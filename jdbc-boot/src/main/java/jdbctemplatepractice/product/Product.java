@@ -1,7 +1,10 @@
 /**
  * Project: JDBCTemplate Practice
  * Description: A simple POJO to model domain entity product. Products contain a unique user id that acts as the primary
- *              key, a product name, a product description, a retail price and a vendor price.
+ *              key, a product name, a product description, a retail price and a vendor price. Prices are held as Money
+ *              (long cents), the BigDecimal setters reject amounts with more than the 2 decimal places of the
+ *              NUMERIC(7,2) columns instead of rounding them, so a product always holds exactly the values stored in
+ *              its row.
  * Author: Benjamin Soto-Roberts
  * Created: 03/03/2026
  */
@@ -9,6 +12,7 @@
 package jdbctemplatepractice.product;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.UUID;
 
 public class Product {
@@ -16,8 +20,8 @@ public class Product {
     private UUID uuid;
     private String productName;
     private String productDesc;
-    private BigDecimal retailPrice;
-    private BigDecimal vendorPrice;
+    private Money retailPrice;
+    private Money vendorPrice;
 
     public Product() {
     }
@@ -48,21 +52,49 @@ public class Product {
     }
 
     public BigDecimal getRetailPrice() {
-        return retailPrice;
+        return retailPrice == null ? null : retailPrice.toBigDecimal();
     }
 
     public void setRetailPrice(BigDecimal retailPrice) {
+        this.retailPrice = toColumnScale(retailPrice);
+    }
+
+    public Money getRetailMoney() {
+        return retailPrice;
+    }
+
+    public void setRetailMoney(Money retailPrice) {
         this.retailPrice = retailPrice;
     }
 
     public BigDecimal getVendorPrice() {
-        return vendorPrice;
+        return vendorPrice == null ? null : vendorPrice.toBigDecimal();
     }
 
     public void setVendorPrice(BigDecimal vendorPrice) {
+        this.vendorPrice = toColumnScale(vendorPrice);
+    }
+
+    public Money getVendorMoney() {
+        return vendorPrice;
+    }
+
+    public void setVendorMoney(Money vendorPrice) {
         this.vendorPrice = vendorPrice;
     }
 
+    // Throws IllegalArgumentException for a price with more than 2 decimal places, trailing zeros are accepted
+    private static Money toColumnScale(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        try {
+            return Money.of(price, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Price " + price + " does not fit a NUMERIC(7,2) column", ex);
+        }
+    }
+
     @Override
     public String toString() {
         return "Product{" +
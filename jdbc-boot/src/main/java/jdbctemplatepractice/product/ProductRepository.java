@@ -9,44 +9,89 @@
 package jdbctemplatepractice.product;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import jdbctemplatepractice.product.exception.ProductNotFoundException;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public class ProductRepository {
 
     // -- Data Field --
     private final JdbcTemplate jdbcTemplate;
+    private final int batchSize; // Rows sent per JDBC batch by saveAll and upsertAll
+    private final int streamFetchSize; // Rows fetched per round-trip by streamAllProducts
     private static final RowMapper<Product> PRODUCT_ROW_MAPPER = new ProductRowMapper(); // Stateless, reusable
 
+    // Column lists for the detail and list views, the row mappers read columns by these positions
+    private static final String PRODUCT_COLUMNS = "UUID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE, VENDOR_PRICE";
+    private static final String SUMMARY_COLUMNS = "UUID, PRODUCT_NAME, RETAIL_PRICE";
+
+    private static final RowMapper<ProductSummaryDTO> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new ProductSummaryDTO(
+            rs.getObject(1, UUID.class),
+            rs.getString(2),
+            rs.getBigDecimal(3));
+
+    private static final String INSERT_SQL = "INSERT INTO PRODUCTS (UUID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE, VENDOR_PRICE) VALUES (?, ?, ?, ?, ?)";
+
+    // Values are cast so HSQLDB can type the parameters of the derived table
+    private static final String MERGE_SQL = """
+            MERGE INTO PRODUCTS
+            USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(1000)),
+                           CAST(? AS NUMERIC(7,2)), CAST(? AS NUMERIC(7,2))))
+                AS V (UUID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE, VENDOR_PRICE)
+            ON PRODUCTS.UUID = V.UUID
+            WHEN MATCHED THEN UPDATE SET PRODUCTS.PRODUCT_NAME = V.PRODUCT_NAME, PRODUCTS.PRODUCT_DESC = V.PRODUCT_DESC,
+                PRODUCTS.RETAIL_PRICE = V.RETAIL_PRICE, PRODUCTS.VENDOR_PRICE = V.VENDOR_PRICE
+            WHEN NOT MATCHED THEN INSERT (UUID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE, VENDOR_PRICE)
+                VALUES (V.UUID, V.PRODUCT_NAME, V.PRODUCT_DESC, V.RETAIL_PRICE, V.VENDOR_PRICE)
+            """;
+
+    // Binds the product columns in table order, shared by the insert and merge batches
+    private static final ParameterizedPreparedStatementSetter<Product> PRODUCT_COLUMNS_SETTER = (ps, product) -> {
+        ps.setObject(1, product.getUuid());
+        ps.setString(2, product.getProductName());
+        ps.setString(3, product.getProductDesc());
+        ps.setBigDecimal(4, product.getRetailPrice());
+        ps.setBigDecimal(5, product.getVendorPrice());
+    };
+
     // -- Constructors --
     @Autowired
-    public ProductRepository(JdbcTemplate jdbcTemplate) {
+    public ProductRepository(JdbcTemplate jdbcTemplate,
+                             @Value("${products.jdbc.batch-size:500}") int batchSize,
+                             @Value("${products.jdbc.stream-fetch-size:500}") int streamFetchSize) {
         this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.streamFetchSize = streamFetchSize;
     }
 
     // -- Inner Class -- Custom row mapper class to map database data to Product POJO
     private static final class ProductRowMapper implements RowMapper<Product> {
 
         /**
-         * Maps the row data from the result set to product by field name
+         * Maps the row data from the result set to product by column position, rows must be selected with
+         * PRODUCT_COLUMNS
          * */
         @Override
         public Product mapRow(ResultSet rs, int rowNum) throws SQLException {
             Product product = new Product();
-            product.setUuid(rs.getObject("UUID", UUID.class));
-            product.setProductName(rs.getString("PRODUCT_NAME"));
-            product.setProductDesc(rs.getString("PRODUCT_DESC"));
-            product.setRetailPrice(rs.getBigDecimal("RETAIL_PRICE"));
-            product.setVendorPrice(rs.getBigDecimal("VENDOR_PRICE"));
+            product.setUuid(rs.getObject(1, UUID.class));
+            product.setProductName(rs.getString(2));
+            product.setProductDesc(rs.getString(3));
+            product.setRetailPrice(rs.getBigDecimal(4));
+            product.setVendorPrice(rs.getBigDecimal(5));
             return product;
         }
     }
@@ -57,17 +102,42 @@ public class ProductRepository {
      * the rows and contents to the product list.
      * */
     public List<Product> getAllProducts() {
-        String sql = "SELECT * FROM PRODUCTS";
+        String sql = "SELECT " + PRODUCT_COLUMNS + " FROM PRODUCTS";
         return jdbcTemplate.query(sql, PRODUCT_ROW_MAPPER);
     }
 
+    /**
+     * Returns every product from the product table as a lazily mapped stream, reading streamFetchSize rows per
+     * round-trip through a forward-only cursor so exports run in constant memory. The stream holds the connection open
+     * and must be closed by the caller, use try-with-resources
+     * */
+    public Stream<Product> streamAllProducts() {
+        String sql = "SELECT " + PRODUCT_COLUMNS + " FROM PRODUCTS";
+
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            return ps;
+        }, PRODUCT_ROW_MAPPER);
+    }
+
+    /**
+     * Returns the list view of every product, selecting only the uuid, name and retail price columns so listings skip
+     * the description and vendor price
+     * */
+    public List<ProductSummaryDTO> getProductSummaries() {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM PRODUCTS";
+        return jdbcTemplate.query(sql, SUMMARY_ROW_MAPPER);
+    }
+
     /**
      * Returns a single product from the product table through a select statement targeting a specific uuid. Uses the
      * ProductRowMapper to map the row contents to the product. Catches EmptyResultDataAccessException if queryForObject
      * throws exception and throws ProductNotFoundException that propagates up the call stack
      * */
     public Product getProductById(UUID uuid) {
-        String sql = "SELECT * FROM PRODUCTS WHERE UUID = ?";
+        String sql = "SELECT " + PRODUCT_COLUMNS + " FROM PRODUCTS WHERE UUID = ?";
 
         try {
             return jdbcTemplate.queryForObject(sql, PRODUCT_ROW_MAPPER, uuid);
@@ -77,26 +147,64 @@ public class ProductRepository {
     }
 
     /**
-     * Saves a product to the product table through insert statement and returns the product using getProductById.
+     * Saves a product to the product table through insert statement and returns the saved product without reading it
+     * back. Every column is supplied by the caller (no db defaults, triggers or generated keys) and the product holds
+     * its prices at the column scale, so the returned product is the persisted row in one round-trip.
      * Assumes UUID is already set on product, not generated by db
      * */
     public Product saveProduct(Product product) {
-        String sql = "INSERT INTO PRODUCTS (UUID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE, VENDOR_PRICE) VALUES (?, ?, ?, ?, ?)";
-
-        jdbcTemplate.update(sql,
+        jdbcTemplate.update(INSERT_SQL,
                 product.getUuid(),
                 product.getProductName(),
                 product.getProductDesc(),
                 product.getRetailPrice(),
                 product.getVendorPrice());
 
-        return getProductById(product.getUuid());
+        return product;
+    }
+
+    /**
+     * Saves every product to the product table with batched insert statements, batchSize rows per round-trip, and
+     * returns the saved products. All chunks run in one transaction so a failing row saves nothing.
+     * Assumes UUIDs are already set on the products, not generated by db
+     * */
+    @Transactional
+    public List<Product> saveAll(List<Product> products) {
+        return saveAll(products, batchSize);
+    }
+
+    /**
+     * Saves every product to the product table with batched insert statements, chunkSize rows per round-trip
+     * */
+    @Transactional
+    public List<Product> saveAll(List<Product> products, int chunkSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, products, chunkSize, PRODUCT_COLUMNS_SETTER);
+        return products;
+    }
+
+    /**
+     * Inserts or updates every product by UUID with batched MERGE statements, batchSize rows per round-trip, and
+     * returns the upserted products. Existing rows have every column overwritten
+     * */
+    @Transactional
+    public List<Product> upsertAll(List<Product> products) {
+        return upsertAll(products, batchSize);
+    }
+
+    /**
+     * Inserts or updates every product by UUID with batched MERGE statements, chunkSize rows per round-trip
+     * */
+    @Transactional
+    public List<Product> upsertAll(List<Product> products, int chunkSize) {
+        jdbcTemplate.batchUpdate(MERGE_SQL, products, chunkSize, PRODUCT_COLUMNS_SETTER);
+        return products;
     }
 
     /**
-     * Updates an existing product to the product table through update statement and returns the product using
-     * getProductById. No rows affected is treated as the not found condition. If no product was found a custom
-     * exception is thrown to propagate up the call stack
+     * Updates an existing product to the product table through update statement and returns the updated product
+     * without reading it back, the update overwrites every column so the product is the persisted row.
+     * No rows affected is treated as the not found condition. If no product was found a custom exception is thrown to
+     * propagate up the call stack
      * */
     public Product updateProduct(Product product) {
         String sql = "UPDATE PRODUCTS SET PRODUCT_NAME = ?, PRODUCT_DESC = ?, RETAIL_PRICE = ?, VENDOR_PRICE = ? WHERE UUID = ?";
@@ -113,7 +221,7 @@ public class ProductRepository {
             throw new ProductNotFoundException("Product not found: " + product.getUuid());
         }
 
-        return getProductById(product.getUuid());
+        return product;
 
     }
 
@@ -0,0 +1,16 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: Response DTO representing the list view of a product, only the columns a product listing needs.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.product;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductSummaryDTO(
+        UUID uuid,
+        String productName,
+        BigDecimal retailPrice) {}
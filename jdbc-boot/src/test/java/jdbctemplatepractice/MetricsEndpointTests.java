@@ -0,0 +1,38 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: A Test class that verifies the Prometheus registry pushed to the Pushgateway holds the Hikari pool and
+ *              JVM metrics. Metrics export is off by default in tests, so the Prometheus registry is switched back on.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "management.prometheus.metrics.export.enabled=true")
+public class MetricsEndpointTests {
+
+    // -- Data field
+    @Autowired
+    private PrometheusMeterRegistry registry;
+
+
+    /**
+     * Tests that the registry publishes the pool, acquire time histogram and JVM GC metrics
+     */
+    @Test
+    void shouldPublishPrometheusMetrics() {
+        String scrape = registry.scrape();
+
+        assertThat(scrape)
+                .contains("hikaricp_connections_active")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("jvm_gc_memory_allocated_bytes_total");
+    }
+}
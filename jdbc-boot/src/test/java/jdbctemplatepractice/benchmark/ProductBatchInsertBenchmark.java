@@ -0,0 +1,91 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: A JMH benchmark that compares the insert throughput of single-row saveProduct calls against batched
+ *              saveAll calls. Each invocation writes a fixed number of rows so the scores read as rows per second.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.benchmark;
+
+import jdbctemplatepractice.JdbcBootApplication;
+import jdbctemplatepractice.product.Product;
+import jdbctemplatepractice.product.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductBatchInsertBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1_000;
+
+    @Param({"100", "500", "1000"})
+    private int chunkSize;
+
+    // -- Data Field --
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private JdbcTemplate jdbcTemplate;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JdbcBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Empties the table and builds a fresh set of products with new uuids so every invocation inserts new rows
+     * */
+    @Setup(Level.Invocation)
+    public void prepareProducts() {
+        jdbcTemplate.update("DELETE FROM PRODUCTS");
+        products = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            Product product = new Product();
+            product.setUuid(UUID.randomUUID());
+            product.setProductName("Product " + i);
+            product.setProductDesc("Batch insert benchmark product");
+            product.setRetailPrice(new BigDecimal("19.99"));
+            product.setVendorPrice(new BigDecimal("12.99"));
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void saveProductPerRow() {
+        for (Product product : products) {
+            productRepository.saveProduct(product);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public List<Product> saveAll() {
+        return productRepository.saveAll(products, chunkSize);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: A JMH benchmark that boots the application context against the in-memory HSQLDB database seeded with
+ *              10k, 100k or 1M products and measures the ProductRepository read paths. Run with -prof gc to compare
+ *              the allocation of the list and streaming reads.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.benchmark;
+
+import jdbctemplatepractice.JdbcBootApplication;
+import jdbctemplatepractice.product.Product;
+import jdbctemplatepractice.product.ProductRepository;
+import jdbctemplatepractice.product.ProductSummaryDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductRepositoryBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    // -- Data Field --
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private UUID existingUuid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JdbcBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        existingUuid = seed(context.getBean(JdbcTemplate.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Inserts rows products with random uuids using JDBC batches and returns the uuid of the last one
+     * */
+    private static UUID seed(JdbcTemplate jdbcTemplate, int rows) {
+        String sql = "INSERT INTO PRODUCTS (UUID, PRODUCT_NAME, PRODUCT_DESC, RETAIL_PRICE, VENDOR_PRICE) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        BigDecimal retailPrice = new BigDecimal("19.99");
+        BigDecimal vendorPrice = new BigDecimal("12.99");
+
+        UUID uuid = null;
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            uuid = UUID.randomUUID();
+            batch.add(new Object[]{uuid, "Product " + i, "Seeded benchmark product", retailPrice, vendorPrice});
+            if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        return uuid;
+    }
+
+    @Benchmark
+    public List<Product> getAllProducts() {
+        return productRepository.getAllProducts();
+    }
+
+    @Benchmark
+    public void streamAllProducts(Blackhole blackhole) {
+        try (Stream<Product> products = productRepository.streamAllProducts()) {
+            products.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public List<ProductSummaryDTO> getProductSummaries() {
+        return productRepository.getProductSummaries();
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return productRepository.getProductById(existingUuid);
+    }
+}
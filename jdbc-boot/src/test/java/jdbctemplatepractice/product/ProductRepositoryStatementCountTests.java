@@ -0,0 +1,141 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: A Test class that asserts the exact SQL statements every ProductRepository method sends to the db,
+ *              using the StatementCounter. Guards against accidental extra queries such as re-selects after writes.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.product;
+
+import jdbctemplatepractice.product.exception.ProductNotFoundException;
+import jdbctemplatepractice.support.StatementCounter;
+import jdbctemplatepractice.support.StatementCountingDataSourceProxy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(StatementCountingDataSourceProxy.class)
+public class ProductRepositoryStatementCountTests {
+
+    private final UUID VALID_UUID = UUID.fromString("7193e96f-5c3a-4231-bbf0-0f2388d654ad");
+
+    // -- Data field
+    @Autowired
+    private ProductRepository productRepository;
+
+
+    /**
+     * Tests that every read is a single select
+     */
+    @Test
+    void shouldReadWithOneSelect() {
+        StatementCounter.reset();
+        productRepository.getAllProducts();
+        assertThat(StatementCounter.statements()).hasSize(1);
+        assertThat(StatementCounter.selects()).isEqualTo(1);
+
+        StatementCounter.reset();
+        productRepository.getProductSummaries();
+        assertThat(StatementCounter.selects()).isEqualTo(1);
+        assertThat(StatementCounter.total()).isEqualTo(1);
+
+        StatementCounter.reset();
+        productRepository.getProductById(VALID_UUID);
+        assertThat(StatementCounter.total()).isEqualTo(1);
+
+        StatementCounter.reset();
+        try (Stream<Product> products = productRepository.streamAllProducts()) {
+            assertThat(products.count()).isEqualTo(2);
+        }
+        assertThat(StatementCounter.total()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that a save is one insert and an update one update, neither reads the row back. Dirties context to not
+     * impact other tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldWriteWithOneStatement_whenSavingAndUpdating() {
+        // Arrange the test data
+        Product product = newProduct("Statement Count Product");
+
+        StatementCounter.reset();
+        productRepository.saveProduct(product);
+        assertThat(StatementCounter.inserts()).isEqualTo(1);
+        assertThat(StatementCounter.total()).isEqualTo(1);
+
+        product.setProductDesc("Updated Description...");
+        StatementCounter.reset();
+        productRepository.updateProduct(product);
+        assertThat(StatementCounter.updates()).isEqualTo(1);
+        assertThat(StatementCounter.total()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that a delete is one statement whether the product exists or not. Dirties context to not impact other
+     * tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldDeleteWithOneStatement() {
+        StatementCounter.reset();
+        productRepository.deleteProductById(VALID_UUID);
+        assertThat(StatementCounter.deletes()).isEqualTo(1);
+        assertThat(StatementCounter.total()).isEqualTo(1);
+
+        StatementCounter.reset();
+        assertThatThrownBy(() -> productRepository.deleteProductById(VALID_UUID))
+                .isInstanceOf(ProductNotFoundException.class);
+        assertThat(StatementCounter.total()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that batched saves and upserts send one statement per chunk, independent of the row count. Dirties context
+     * to not impact other tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldSendOneStatementPerChunk_whenSavingAndUpsertingBatches() {
+        // Arrange the test data, 25 products span three chunks of 10
+        List<Product> products = IntStream.range(0, 25)
+                .mapToObj(i -> newProduct("Statement Count Batch " + i))
+                .toList();
+
+        StatementCounter.reset();
+        productRepository.saveAll(products, 10);
+        assertThat(StatementCounter.inserts()).isEqualTo(3);
+        assertThat(StatementCounter.total()).isEqualTo(3);
+
+        StatementCounter.reset();
+        productRepository.upsertAll(products, 10);
+        assertThat(StatementCounter.merges()).isEqualTo(3);
+        assertThat(StatementCounter.total()).isEqualTo(3);
+    }
+
+    /**
+     * Builds a product with a random uuid and fixed prices
+     */
+    private static Product newProduct(String productName) {
+        Product product = new Product();
+        product.setUuid(UUID.randomUUID());
+        product.setProductName(productName);
+        product.setProductDesc("Test Description...");
+        product.setRetailPrice(new BigDecimal("19.99"));
+        product.setVendorPrice(new BigDecimal("12.99"));
+        return product;
+    }
+}
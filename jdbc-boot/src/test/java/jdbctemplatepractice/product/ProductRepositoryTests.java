@@ -11,12 +11,14 @@ package jdbctemplatepractice.product;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
 import org.springframework.test.annotation.DirtiesContext;
 import jdbctemplatepractice.product.exception.ProductNotFoundException;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -74,6 +76,39 @@ public class ProductRepositoryTests {
         response.forEach(System.out::println); // Display data to console for verification
     }
 
+    /**
+     * Tests that streaming the product table yields the same products as the list read
+     */
+    @Test
+    void shouldStreamAllProducts() {
+        // Arrange test data, the stream holds a connection so it is closed after reading
+        List<UUID> streamed;
+        try (Stream<Product> response = productRepository.streamAllProducts()) {
+            streamed = response.map(Product::getUuid).toList();
+        }
+
+        // Checks response results
+        assertThat(streamed).containsExactlyInAnyOrderElementsOf(
+                productRepository.getAllProducts().stream().map(Product::getUuid).toList());
+    }
+
+    /**
+     * Tests for valid retrieval of the list view of all products, only the projected columns are populated
+     */
+    @Test
+    void shouldReturnProductSummaries() {
+        // Arrange test data
+        List<ProductSummaryDTO> response = productRepository.getProductSummaries();
+
+        // Checks response results
+        assertThat(response).hasSize(2);
+        assertThat(response).extracting(ProductSummaryDTO::uuid).contains(VALID_UUID);
+        assertThat(response).allSatisfy(summary -> {
+            assertThat(summary.productName()).isNotBlank();
+            assertThat(summary.retailPrice()).isPositive();
+        });
+    }
+
     /**
      * Tests a valid save request to ensure the product is saved and is retrievable from the db. Dirties context to not
      * impact other tests
@@ -97,6 +132,46 @@ public class ProductRepositoryTests {
         System.out.println(response); // Display data to console for verification
     }
 
+    /**
+     * Tests that the product returned from a save, which is no longer read back from the db, holds exactly the values
+     * stored in the row, including prices given with fewer or more decimal places than the column scale. Dirties
+     * context to not impact other tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldReturnPersistedRow_whenProductIsSaved() {
+        // Arrange the test data with prices at a scale other than the column scale
+        Product request = new Product();
+        request.setUuid(UUID.randomUUID());
+        request.setProductName("Scale Test Product");
+        request.setProductDesc("Scale Test Description...");
+        request.setRetailPrice(new BigDecimal("19.9"));
+        request.setVendorPrice(new BigDecimal("12.990"));
+
+        // Sends the request to db and reads the row back for comparison
+        Product response = productRepository.saveProduct(request);
+        Product stored = productRepository.getProductById(request.getUuid());
+
+        // Checks the returned product matches the stored row
+        assertThat(response.getRetailPrice()).isEqualTo(stored.getRetailPrice());
+        assertThat(response.getVendorPrice()).isEqualTo(stored.getVendorPrice());
+        assertThat(response.getProductDesc()).isEqualTo(stored.getProductDesc());
+    }
+
+    /**
+     * Tests that a price with more decimal places than the column holds is rejected instead of being silently rounded
+     */
+    @Test
+    void shouldRejectPrice_whenScaleExceedsColumn() {
+        Product request = new Product();
+
+        assertThatThrownBy(() -> request.setRetailPrice(new BigDecimal("19.995")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> request.setVendorPrice(new BigDecimal("12.999")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(request.getRetailPrice()).isNull();
+    }
+
     /**
      * Tests a valid save request to ensure the product is saved and is retrievable from the db. Dirties context to not
      * impact other tests
@@ -133,4 +208,77 @@ public class ProductRepositoryTests {
         assertThatThrownBy(() -> productRepository.getProductById(request))
                 .isInstanceOf(ProductNotFoundException.class);
     }
+
+    /**
+     * Tests a batched save with a chunk size smaller than the request so the rows span several JDBC batches, every
+     * product must be retrievable afterwards. Dirties context to not impact other tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldSaveAllProducts_whenRequestSpansSeveralBatches() {
+        // Arrange the test data
+        List<Product> request = List.of(newProduct("Batch Product 1"), newProduct("Batch Product 2"),
+                newProduct("Batch Product 3"), newProduct("Batch Product 4"), newProduct("Batch Product 5"));
+
+        // Sends the request to db in chunks of two rows
+        List<Product> response = productRepository.saveAll(request, 2);
+
+        // Checks response results
+        assertThat(response).hasSize(5);
+        assertThat(productRepository.getAllProducts()).hasSize(7);
+        assertThat(productRepository.getProductById(request.get(4).getUuid()).getProductName())
+                .isEqualTo("Batch Product 5");
+    }
+
+    /**
+     * Tests that a batched save rolls back every chunk when one row fails, a duplicate uuid in the last chunk must
+     * leave the table untouched. Dirties context to not impact other tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldSaveNoProducts_whenOneRowFails() {
+        // Arrange the test data, the last product reuses the uuid of a seeded row
+        Product duplicate = newProduct("Duplicate Product");
+        duplicate.setUuid(VALID_UUID);
+        List<Product> request = List.of(newProduct("Batch Product 1"), newProduct("Batch Product 2"), duplicate);
+
+        // Checks the batch fails and nothing was saved
+        assertThatThrownBy(() -> productRepository.saveAll(request, 2))
+                .isInstanceOf(DataAccessException.class);
+        assertThat(productRepository.getAllProducts()).hasSize(2);
+    }
+
+    /**
+     * Tests a batched upsert that updates a seeded product and inserts a new one in the same request. Dirties context
+     * to not impact other tests
+     */
+    @Test
+    @DirtiesContext
+    void shouldUpdateExistingAndInsertNew_whenUpsertingProducts() {
+        // Arrange the test data
+        Product existing = newProduct("Adventure Time Blu-ray");
+        existing.setUuid(VALID_UUID);
+        Product created = newProduct("Upsert Product");
+
+        // Sends the request to db
+        productRepository.upsertAll(List.of(existing, created));
+
+        // Checks response results
+        assertThat(productRepository.getAllProducts()).hasSize(3);
+        assertThat(productRepository.getProductById(VALID_UUID).getProductName()).isEqualTo("Adventure Time Blu-ray");
+        assertThat(productRepository.getProductById(created.getUuid()).getProductName()).isEqualTo("Upsert Product");
+    }
+
+    /**
+     * Builds a product with a random uuid and fixed prices
+     */
+    private static Product newProduct(String productName) {
+        Product product = new Product();
+        product.setUuid(UUID.randomUUID());
+        product.setProductName(productName);
+        product.setProductDesc("Test Description...");
+        product.setRetailPrice(new BigDecimal("19.99"));
+        product.setVendorPrice(new BigDecimal("12.99"));
+        return product;
+    }
 }
@@ -0,0 +1,76 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: A datasource-proxy listener that records the SQL of every statement executed on the current thread, so
+ *              a test can reset it, make one repository call and assert exactly which statements the call sent. A JDBC
+ *              batch is one execution and is recorded once.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class StatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Forgets the statements recorded on the current thread
+     * */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Returns the lower cased SQL of the statements recorded on the current thread since the last reset, in order
+     * */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static int total() {
+        return STATEMENTS.get().size();
+    }
+
+    public static int selects() {
+        return count("select");
+    }
+
+    public static int inserts() {
+        return count("insert");
+    }
+
+    public static int updates() {
+        return count("update");
+    }
+
+    public static int deletes() {
+        return count("delete");
+    }
+
+    public static int merges() {
+        return count("merge");
+    }
+
+    private static int count(String keyword) {
+        return (int) STATEMENTS.get().stream().filter(sql -> sql.startsWith(keyword)).count();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            STATEMENTS.get().add(queryInfo.getQuery().strip().toLowerCase(Locale.ROOT));
+        }
+    }
+}
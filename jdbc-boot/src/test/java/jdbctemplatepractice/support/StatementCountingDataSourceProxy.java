@@ -0,0 +1,30 @@
+/**
+ * Project: JDBCTemplate Practice
+ * Description: Wraps the application DataSource in a datasource-proxy that reports every statement to the
+ *              StatementCounter. Tests opt in with @Import, it is deliberately not a component so component scanning in
+ *              other test and benchmark contexts never picks it up.
+ * Author: Benjamin Soto-Roberts
+ * Created: 10/17/2026
+ */
+
+package jdbctemplatepractice.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+public class StatementCountingDataSourceProxy implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new StatementCounter())
+                    .build();
+        }
+        return bean;
+    }
+}